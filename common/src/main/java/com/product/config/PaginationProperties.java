@@ -0,0 +1,30 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Page size limits of the keyset-paginated list endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+
+    private int defaultSize = 50;
+
+    private int maxSize = 500;
+
+    /**
+     * Returns the requested page size capped at {@link #maxSize}, or {@link #defaultSize} when absent.
+     */
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        if (requestedSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+
+}
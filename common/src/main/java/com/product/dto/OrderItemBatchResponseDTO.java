@@ -0,0 +1,22 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemBatchResponseDTO {
+
+    private int created;
+
+    private int failed;
+
+    private List<OrderItemBatchResultDTO> results;
+
+}
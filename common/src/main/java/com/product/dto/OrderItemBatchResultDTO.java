@@ -0,0 +1,25 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outcome of one entry of a batch create request, in request order.
+ */
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemBatchResultDTO {
+
+    private int index;
+
+    private boolean success;
+
+    private OrderItemResponseDTO orderItem;
+
+    private String error;
+
+}
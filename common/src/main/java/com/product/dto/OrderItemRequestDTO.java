@@ -17,4 +17,6 @@ public class OrderItemRequestDTO {
 
     private int quantity;
 
+    private Long version;
+
 }
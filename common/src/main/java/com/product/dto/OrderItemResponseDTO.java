@@ -0,0 +1,41 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemResponseDTO {
+
+    private Long id;
+
+    private LocalDateTime purchaseDate;
+
+    private int quantity;
+
+    private Long version;
+
+    private UserResponseDTO user;
+
+    private ProductResponseDTO product;
+
+    /**
+     * Flat constructor used by JPQL constructor expressions and the row mappers of joined queries, so one
+     * joined query can build the whole response without loading entities.
+     */
+    public OrderItemResponseDTO(Long id, LocalDateTime purchaseDate, int quantity, Long version,
+                                Long userId, String userName, String userEmail, Long userVersion,
+                                Long productId, String productName, String productDescription, double productPrice,
+                                Long productVersion) {
+        this(id, purchaseDate, quantity, version,
+                new UserResponseDTO(userId, userName, userEmail, userVersion),
+                new ProductResponseDTO(productId, productName, productDescription, productPrice, productVersion));
+    }
+
+}
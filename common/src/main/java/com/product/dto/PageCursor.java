@@ -0,0 +1,94 @@
+package com.product.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe cursors.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "id:";
+
+    private static final String DATE_PREFIX = "at:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Position of the last row of a page ordered by purchase date, then id.
+     */
+    public record DatePosition(LocalDateTime purchaseDate, long id) {
+    }
+
+    public static String encode(long lastId) {
+        return toCursor(PREFIX + lastId);
+    }
+
+    public static String encode(LocalDateTime lastPurchaseDate, long lastId) {
+        return toCursor(DATE_PREFIX + lastPurchaseDate + "|" + lastId);
+    }
+
+    /**
+     * Returns the last id seen by the client, or {@code 0} for the first page.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String value = fromCursor(cursor, PREFIX);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    /**
+     * Returns the last purchase date and id seen by the client, or {@code start} and id {@code 0} for the first page.
+     */
+    public static DatePosition decode(String cursor, LocalDateTime start) {
+        DatePosition position = decodePosition(cursor);
+        return position != null ? position : new DatePosition(start, 0L);
+    }
+
+    /**
+     * Returns the last purchase date and id seen by the client, or {@code null} for the first page.
+     */
+    public static DatePosition decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = fromCursor(cursor, DATE_PREFIX);
+        int separator = value.lastIndexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new DatePosition(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    private static String toCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromCursor(String cursor, String prefix) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+        if (!value.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return value.substring(prefix.length());
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code next} is the opaque cursor of the following page,
+ * or {@code null} when this is the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponseDTO<T> {
+
+    private List<T> items;
+
+    private String next;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only tells
+     * that a next page exists and is not returned.
+     */
+    public static <T> PageResponseDTO<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new PageResponseDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new PageResponseDTO<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+}
@@ -17,4 +17,7 @@ public class ProductRequestDTO {
 
     private double price;
 
+    // Version the client last read; when set, the update fails with 409 if the entity has changed since
+    private Long version;
+
 }
\ No newline at end of file
@@ -19,4 +19,7 @@ public class ProductResponseDTO {
 
     private double price;
 
+    // Send it back with an update to have it rejected (409) if the product changed in between
+    private Long version;
+
 }
@@ -15,4 +15,6 @@ public class UserRequestDTO {
 
     private String email;
 
+    private Long version;
+
 }
\ No newline at end of file
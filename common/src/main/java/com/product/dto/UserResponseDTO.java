@@ -17,4 +17,6 @@ public class UserResponseDTO {
 
     private String email;
 
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.product.exception;
+
+/**
+ * VersionConflictException is a custom exception used to indicate that an update was based on a version
+ * of the entity that has been changed by another update in the meantime.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+
+    public VersionConflictException(String entity, Long id, Long expectedVersion, Long currentVersion) {
+        super(entity + " with ID " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.product.exception.advice;
+
+import com.product.exception.NotFoundException;
+import com.product.exception.OrderCreateException;
+import com.product.exception.VersionConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Error responses of the exceptions both applications share, as a {@link CustomErrorResponse}.
+ * <p>
+ * Each application extends it as its {@code @ControllerAdvice}, with {@code R} the request type its web stack
+ * passes to exception handlers ({@code WebRequest} for MVC, {@code ServerWebExchange} for WebFlux), and adds
+ * the handlers of its own exceptions. Spring resolves {@code R} against the advice class.
+ */
+@Slf4j
+public abstract class GlobalExceptionHandler<R> {
+
+    // Catch all exceptions and return a custom error response
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<CustomErrorResponse> handleAllExceptions(Exception ex, R request) {
+        log.error("Unhandled exception", ex);  // Log full exception
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex, request);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<CustomErrorResponse> handleNotFoundException(NotFoundException ex, R request) {
+        return errorResponse(HttpStatus.NOT_FOUND, "Not Found", ex, request);
+    }
+
+    // Invalid parameters (bad ids, cursors or page sizes) are client errors
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<CustomErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, R request) {
+        return errorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex, request);
+    }
+
+    @ExceptionHandler(OrderCreateException.class)
+    public ResponseEntity<CustomErrorResponse> handleOrderCreateException(OrderCreateException ex, R request) {
+        return errorResponse(HttpStatus.BAD_REQUEST, "Cannot create Item Order", ex, request);
+    }
+
+    // Lost update prevented: the entity changed since the version the client (or a repository write) based its update on
+    @ExceptionHandler({VersionConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<CustomErrorResponse> handleVersionConflictException(RuntimeException ex, R request) {
+        return errorResponse(HttpStatus.CONFLICT, "Conflict", ex, request);
+    }
+
+    protected ResponseEntity<CustomErrorResponse> errorResponse(HttpStatus status, String error, Exception ex, R request) {
+        return new ResponseEntity<>(errorBody(status, error, ex, request), status);
+    }
+
+    protected CustomErrorResponse errorBody(HttpStatus status, String error, Exception ex, R request) {
+        CustomErrorResponse errorResponse = new CustomErrorResponse();
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setStatus(status.value());
+        errorResponse.setError(error);
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setPath(path(request));
+        return errorResponse;
+    }
+
+    // Path of the failed request, reported in the error response
+    protected abstract String path(R request);
+
+}
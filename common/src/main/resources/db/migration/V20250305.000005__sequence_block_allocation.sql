@@ -0,0 +1,3 @@
+-- Reserve ids in blocks of 50 per nextval (Hibernate pooled-lo optimizer, see IdAllocation).
+-- The per-session cache is dropped: every call already returns a whole block.
+ALTER SEQUENCE AP_UNIQUE_ID INCREMENT BY 50 CACHE 1;
@@ -0,0 +1,25 @@
+-- Price of the product when the item was ordered. Sales revenue is quantity x unit_price on every path
+-- (create, quantity change, delete, cascade and rebuild), so a later price change does not skew the amount
+-- subtracted against the amount added. Existing items take the current product price.
+ALTER TABLE order_items ADD COLUMN unit_price NUMERIC(10, 2);
+
+UPDATE order_items oi
+SET unit_price = (SELECT p.price FROM products p WHERE p.id = oi.product_id);
+
+ALTER TABLE order_items ALTER COLUMN unit_price SET NOT NULL;
+
+-- Per-product sales totals maintained by ProductSalesCounters, flushed periodically from memory.
+CREATE TABLE product_sales_summary
+(
+    product_id  BIGINT PRIMARY KEY,
+    units_sold  BIGINT         NOT NULL DEFAULT 0,
+    order_count BIGINT         NOT NULL DEFAULT 0,
+    revenue     NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_sales_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+);
+
+INSERT INTO product_sales_summary (product_id, units_sold, order_count, revenue)
+SELECT oi.product_id, SUM(oi.quantity), COUNT(*), SUM(oi.quantity * oi.unit_price)
+FROM order_items oi
+GROUP BY oi.product_id;
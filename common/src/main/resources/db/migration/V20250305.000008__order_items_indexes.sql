@@ -0,0 +1,8 @@
+-- Foreign key columns are not indexed automatically: joins, user/product lookups and the cascading
+-- deletes from users and products would scan order_items.
+CREATE INDEX idx_order_items_user_id ON order_items (user_id);
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
+
+-- Date range queries with keyset pagination on (purchase_date, id); on PostgreSQL the index is
+-- created on every partition
+CREATE INDEX idx_order_items_purchase_date ON order_items (purchase_date, id);
@@ -0,0 +1,5 @@
+-- Optimistic locking (@Version) of users, products and order items; existing rows start at version 0.
+-- A constant default is a metadata-only change on PostgreSQL, the tables are not rewritten.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE order_items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
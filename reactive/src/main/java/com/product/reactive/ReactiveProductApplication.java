@@ -0,0 +1,20 @@
+package com.product.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+/**
+ * WebFlux + R2DBC variant of the product service, serving the same {@code /users}, {@code /products}
+ * and {@code /order-items} API without blocking threads on JDBC.
+ */
+@SpringBootApplication
+// com.product.config holds the properties shared with the MVC application (common module)
+@ConfigurationPropertiesScan({"com.product.reactive", "com.product.config"})
+public class ReactiveProductApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveProductApplication.class, args);
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.product.reactive.controller;
+
+import com.product.config.PaginationProperties;
+import com.product.dto.OrderItemBatchResponseDTO;
+import com.product.dto.OrderItemBatchResultDTO;
+import com.product.dto.OrderItemRequestDTO;
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.exception.OrderCreateException;
+import com.product.reactive.service.OrderItemService;
+import com.product.reactive.service.ProductService;
+import com.product.reactive.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/order-items")
+@Slf4j
+public class OrderItemController {
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    /**
+     * Endpoint to create an OrderItem for a given user and product.
+     * For simplicity, quantity is passed as a parameter.
+     */
+    @PostMapping("/create-order")
+    public Mono<OrderItemResponseDTO> createOrderItem(
+            @RequestParam Long userId,
+            @RequestParam Long productId,
+            @RequestParam int quantity) {
+        if (quantity <= 0) {
+            return Mono.error(new IllegalArgumentException("Quantity must be greater than 0"));
+        }
+        // Fetch user and product concurrently, then save the OrderItem
+        return Mono.zip(userService.getUserById(userId), productService.getProductById(productId))
+                .flatMap(found -> orderItemService.createOrderItem(found.getT1(), found.getT2(), quantity))
+                .onErrorMap(ex -> !(ex instanceof OrderCreateException), ex -> {
+                    log.error("Error creating order item: {}", ex.getMessage());
+                    return new OrderCreateException("Error creating order item", ex);
+                });
+    }
+
+    // Get one page of order items, ordered by id
+    @GetMapping
+    public Mono<PageResponseDTO<OrderItemResponseDTO>> getAllOrderItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return orderItemService.getAllOrderItems(PageCursor.decode(cursor), pageSize + 1)
+                .collectList()
+                .map(orderItems -> PageResponseDTO.of(orderItems, pageSize, dto -> PageCursor.encode(dto.getId())));
+    }
+
+    // Stream every order item as newline-delimited JSON, row by row as the driver reads them
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderItemResponseDTO> exportOrderItems() {
+        return orderItemService.streamOrderItems();
+    }
+
+    // Get order item by ID
+    @GetMapping("/{id}")
+    public Mono<OrderItemResponseDTO> getOrderItemById(@PathVariable("id") Long orderItemId) {
+        return orderItemService.getOrderItemById(orderItemId);
+    }
+
+    // Create order item with validation
+    @PostMapping("/create")
+    public Mono<OrderItemResponseDTO> createOrderItem(@RequestBody OrderItemRequestDTO requestDTO) {
+        // Validate inputs
+        if (requestDTO.getUserId() == null || requestDTO.getUserId().isBlank()) {
+            return Mono.error(new IllegalArgumentException("User ID must not be null or blank"));
+        }
+        if (requestDTO.getProductId() == null || requestDTO.getProductId().isBlank()) {
+            return Mono.error(new IllegalArgumentException("Product ID must not be null or blank"));
+        }
+        if (requestDTO.getQuantity() <= 0) {
+            return Mono.error(new IllegalArgumentException("Quantity must be greater than 0"));
+        }
+        Long userId = parseId(requestDTO.getUserId());
+        if (userId == null) {
+            return Mono.error(new IllegalArgumentException("Invalid user ID: " + requestDTO.getUserId()));
+        }
+        Long productId = parseId(requestDTO.getProductId());
+        if (productId == null) {
+            return Mono.error(new IllegalArgumentException("Invalid product ID: " + requestDTO.getProductId()));
+        }
+        return Mono.zip(userService.getUserById(userId), productService.getProductById(productId))
+                .flatMap(found -> orderItemService.createOrderItem(found.getT1(), found.getT2(), requestDTO.getQuantity()));
+    }
+
+    // The id as a number, or null if it is not one
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // Create many order items in one transaction, reporting the outcome of each entry
+    @PostMapping("/batch")
+    public Mono<OrderItemBatchResponseDTO> createOrderItems(@RequestBody List<OrderItemRequestDTO> requestDTOs) {
+        return orderItemService.createOrderItemsBatch(requestDTOs).map(results -> {
+            int created = (int) results.stream().filter(OrderItemBatchResultDTO::isSuccess).count();
+            return new OrderItemBatchResponseDTO(created, results.size() - created, results);
+        });
+    }
+
+    // Update order item, only the quantity can change
+    @PutMapping("/{id}")
+    public Mono<OrderItemResponseDTO> updateOrderItem(@PathVariable("id") Long orderItemId,
+                                                      @RequestBody OrderItemRequestDTO requestDTO) {
+        if (requestDTO.getQuantity() <= 0) {
+            return Mono.error(new IllegalArgumentException("Quantity must be greater than 0"));
+        }
+        return orderItemService.updateOrderItem(orderItemId, requestDTO.getQuantity(), requestDTO.getVersion());
+    }
+
+    // Delete order item
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteOrderItem(@PathVariable("id") Long orderItemId) {
+        return orderItemService.deleteOrderItem(orderItemId);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.product.reactive.controller;
+
+import com.product.config.PaginationProperties;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.dto.ProductRequestDTO;
+import com.product.dto.ProductResponseDTO;
+import com.product.reactive.model.Product;
+import com.product.reactive.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/products")
+@Slf4j
+public class ProductController {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    // Get product details by ID, with a fallback product when the lookup fails
+    @GetMapping("/get-product/{id}")
+    public Mono<Product> getProduct(@PathVariable("id") Long productId) {
+        return productService.getProductById(productId)
+                .onErrorResume(ex -> {
+                    log.error("Error fetching product: {}", ex.getMessage());
+                    return Mono.just(new Product(productId, "Fallback Product", "Default description", 249.99, null));
+                });
+    }
+
+    // Get one page of products, ordered by id
+    @GetMapping
+    public Mono<PageResponseDTO<ProductResponseDTO>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return productService.getAllProducts(PageCursor.decode(cursor), pageSize + 1)
+                .map(ProductController::toProductResponseDTO)
+                .collectList()
+                .map(products -> PageResponseDTO.of(products, pageSize, dto -> PageCursor.encode(dto.getId())));
+    }
+
+    // Get product by ID
+    @GetMapping("/{id}")
+    public Mono<ProductResponseDTO> getProductById(@PathVariable("id") Long productId) {
+        return productService.getProductById(productId).map(ProductController::toProductResponseDTO);
+    }
+
+    // Create new product
+    @PostMapping
+    public Mono<ProductResponseDTO> createProduct(@RequestBody ProductRequestDTO requestDTO) {
+        Product product = new Product(null, requestDTO.getName(), requestDTO.getDescription(), requestDTO.getPrice(), null);
+        return productService.createProduct(product).map(ProductController::toProductResponseDTO);
+    }
+
+    // Update product
+    @PutMapping("/{id}")
+    public Mono<ProductResponseDTO> updateProduct(@PathVariable("id") Long productId, @RequestBody ProductRequestDTO requestDTO) {
+        Product updatedProduct = new Product(null, requestDTO.getName(), requestDTO.getDescription(), requestDTO.getPrice(),
+                requestDTO.getVersion());
+        return productService.updateProduct(productId, updatedProduct).map(ProductController::toProductResponseDTO);
+    }
+
+    // Delete product
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteProduct(@PathVariable("id") Long productId) {
+        return productService.deleteProduct(productId);
+    }
+
+    // Mapper for Product -> ProductResponseDTO
+    static ProductResponseDTO toProductResponseDTO(Product product) {
+        return new ProductResponseDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getVersion());
+    }
+
+}
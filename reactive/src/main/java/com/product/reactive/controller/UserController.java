@@ -0,0 +1,80 @@
+package com.product.reactive.controller;
+
+import com.product.config.PaginationProperties;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.dto.UserRequestDTO;
+import com.product.dto.UserResponseDTO;
+import com.product.reactive.model.User;
+import com.product.reactive.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/users")
+@Slf4j
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    // Get user details by user ID, with a fallback user when the lookup fails
+    @GetMapping("/{id}")
+    public Mono<UserResponseDTO> getUser(@PathVariable("id") Long userId) {
+        return userService.getUserById(userId)
+                .onErrorResume(ex -> {
+                    log.error("Error fetching user: {}", ex.getMessage());
+                    return Mono.just(new User(userId, "Fallback User", "fallback@example.com", null));
+                })
+                .map(UserController::toUserResponseDTO);
+    }
+
+    // Get one page of users, ordered by id
+    @GetMapping
+    public Mono<PageResponseDTO<UserResponseDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return userService.getAllUsers(PageCursor.decode(cursor), pageSize + 1)
+                .map(UserController::toUserResponseDTO)
+                .collectList()
+                .map(users -> PageResponseDTO.of(users, pageSize, dto -> PageCursor.encode(dto.getId())));
+    }
+
+    // Get user by ID
+    @GetMapping("/get-user/{id}")
+    public Mono<UserResponseDTO> getUserById(@PathVariable("id") Long userId) {
+        return userService.getUserById(userId).map(UserController::toUserResponseDTO);
+    }
+
+    // Create new user
+    @PostMapping
+    public Mono<UserResponseDTO> createUser(@RequestBody UserRequestDTO requestDTO) {
+        User user = new User(null, requestDTO.getName(), requestDTO.getEmail(), null);
+        return userService.createUser(user).map(UserController::toUserResponseDTO);
+    }
+
+    // Update user
+    @PutMapping("/{id}")
+    public Mono<UserResponseDTO> updateUser(@PathVariable("id") Long userId, @RequestBody UserRequestDTO requestDTO) {
+        User updatedUser = new User(null, requestDTO.getName(), requestDTO.getEmail(), requestDTO.getVersion());
+        return userService.updateUser(userId, updatedUser).map(UserController::toUserResponseDTO);
+    }
+
+    // Delete user
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteUser(@PathVariable("id") Long userId) {
+        return userService.deleteUser(userId);
+    }
+
+    // Mapper method for User to UserResponseDTO
+    static UserResponseDTO toUserResponseDTO(User user) {
+        return new UserResponseDTO(user.getId(), user.getName(), user.getEmail(), user.getVersion());
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.product.reactive.exception.advice;
+
+import com.product.exception.advice.GlobalExceptionHandler;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The shared error responses of {@link GlobalExceptionHandler}, for WebFlux handlers.
+ */
+@ControllerAdvice
+public class WebFluxExceptionHandler extends GlobalExceptionHandler<ServerWebExchange> {
+
+    @Override
+    protected String path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().value();
+    }
+
+}
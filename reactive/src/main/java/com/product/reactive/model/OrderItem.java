@@ -0,0 +1,40 @@
+package com.product.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order item row. R2DBC has no associations, so the user and product are referenced by id and
+ * joined by {@code OrderItemQueryRepository} when a response is built.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("order_items")
+public class OrderItem {
+
+    @Id
+    private Long id;
+
+    private LocalDateTime purchaseDate;
+
+    private int quantity;
+
+    // Product price when the item was ordered, which sales revenue is counted with
+    private double unitPrice;
+
+    private Long userId;
+
+    private Long productId;
+
+    // Saves increment it and fail if the row has another version, like the JPA entities of the MVC application
+    @Version
+    private Long version;
+
+}
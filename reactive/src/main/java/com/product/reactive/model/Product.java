@@ -0,0 +1,28 @@
+package com.product.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("products")
+public class Product {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private double price;
+
+    @Version
+    private Long version;
+
+}
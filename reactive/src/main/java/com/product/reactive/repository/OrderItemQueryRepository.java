@@ -0,0 +1,75 @@
+package com.product.reactive.repository;
+
+import com.product.dto.OrderItemResponseDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order item responses read with one joined query, the R2DBC counterpart of the JPQL projections
+ * of the MVC application.
+ */
+@Repository
+public class OrderItemQueryRepository {
+
+    private static final String SELECT_ORDER_ITEMS = """
+            SELECT oi.id, oi.purchase_date, oi.quantity, oi.version,
+                   u.id AS user_id, u.name AS user_name, u.email AS user_email, u.version AS user_version,
+                   p.id AS product_id, p.name AS product_name, p.description AS product_description,
+                   p.price AS product_price, p.version AS product_version
+            FROM order_items oi
+            JOIN users u ON u.id = oi.user_id
+            JOIN products p ON p.id = oi.product_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public OrderItemQueryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<OrderItemResponseDTO> findOrderItemResponsesAfter(long afterId, int limit) {
+        return databaseClient.sql(SELECT_ORDER_ITEMS + "WHERE oi.id > :afterId ORDER BY oi.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(OrderItemQueryRepository::toResponse)
+                .all();
+    }
+
+    public Mono<OrderItemResponseDTO> findOrderItemResponseById(long id) {
+        return databaseClient.sql(SELECT_ORDER_ITEMS + "WHERE oi.id = :id")
+                .bind("id", id)
+                .map(OrderItemQueryRepository::toResponse)
+                .one();
+    }
+
+    // Rows are emitted as the driver reads them, with back-pressure from the subscriber
+    public Flux<OrderItemResponseDTO> streamOrderItemResponses() {
+        return databaseClient.sql(SELECT_ORDER_ITEMS + "ORDER BY oi.id")
+                .map(OrderItemQueryRepository::toResponse)
+                .all();
+    }
+
+    private static OrderItemResponseDTO toResponse(Readable row) {
+        return new OrderItemResponseDTO(
+                row.get("id", Long.class),
+                row.get("purchase_date", LocalDateTime.class),
+                row.get("quantity", Integer.class),
+                row.get("version", Long.class),
+                row.get("user_id", Long.class),
+                row.get("user_name", String.class),
+                row.get("user_email", String.class),
+                row.get("user_version", Long.class),
+                row.get("product_id", Long.class),
+                row.get("product_name", String.class),
+                row.get("product_description", String.class),
+                row.get("product_price", BigDecimal.class).doubleValue(),
+                row.get("product_version", Long.class));
+    }
+
+}
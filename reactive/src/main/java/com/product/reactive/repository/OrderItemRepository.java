@@ -0,0 +1,7 @@
+package com.product.reactive.repository;
+
+import com.product.reactive.model.OrderItem;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface OrderItemRepository extends ReactiveCrudRepository<OrderItem, Long> {
+}
@@ -0,0 +1,14 @@
+package com.product.reactive.repository;
+
+import com.product.reactive.model.Product;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ProductRepository extends ReactiveCrudRepository<Product, Long> {
+
+    @Query("SELECT * FROM products WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Product> findProductsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+}
@@ -0,0 +1,14 @@
+package com.product.reactive.repository;
+
+import com.product.reactive.model.User;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+
+    @Query("SELECT * FROM users WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<User> findUsersAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+}
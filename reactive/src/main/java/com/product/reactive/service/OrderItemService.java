@@ -0,0 +1,179 @@
+package com.product.reactive.service;
+
+import com.product.dto.OrderItemBatchResultDTO;
+import com.product.dto.OrderItemRequestDTO;
+import com.product.dto.OrderItemResponseDTO;
+import com.product.exception.NotFoundException;
+import com.product.reactive.model.OrderItem;
+import com.product.reactive.model.Product;
+import com.product.reactive.model.User;
+import com.product.reactive.repository.OrderItemQueryRepository;
+import com.product.reactive.repository.OrderItemRepository;
+import com.product.reactive.repository.ProductRepository;
+import com.product.reactive.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class OrderItemService {
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderItemQueryRepository orderItemQueryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Value("${app.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Loads up to limit order items with an id greater than afterId, in id order,
+    // together with their user and product in a single joined query
+    public Flux<OrderItemResponseDTO> getAllOrderItems(long afterId, int limit) {
+        return orderItemQueryRepository.findOrderItemResponsesAfter(afterId, limit);
+    }
+
+    public Mono<OrderItemResponseDTO> getOrderItemById(Long orderItemId) {
+        return orderItemQueryRepository.findOrderItemResponseById(orderItemId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("OrderItem with ID " + orderItemId + " not found")));
+    }
+
+    public Flux<OrderItemResponseDTO> streamOrderItems() {
+        return orderItemQueryRepository.streamOrderItemResponses();
+    }
+
+    public Mono<OrderItemResponseDTO> createOrderItem(User user, Product product, int quantity) {
+        OrderItem orderItem = new OrderItem(null, LocalDateTime.now(), quantity, product.getPrice(), user.getId(),
+                product.getId(), null);
+        return orderItemRepository.save(orderItem)
+                .map(saved -> toOrderItemResponseDTO(saved, user, product));
+    }
+
+    /**
+     * Creates all valid entries of the batch in one transaction. Users and products are resolved with
+     * one IN query each; entries with a bad id, an unknown user or product, or a non-positive quantity
+     * are reported as rejected and do not prevent the others from being created.
+     */
+    public Mono<List<OrderItemBatchResultDTO>> createOrderItemsBatch(List<OrderItemRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Batch must contain at least one order item"));
+        }
+        if (requests.size() > maxBatchSize) {
+            return Mono.error(new IllegalArgumentException("Batch must not contain more than " + maxBatchSize + " order items"));
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (OrderItemRequestDTO request : requests) {
+            parseId(request.getUserId()).ifPresent(userIds::add);
+            parseId(request.getProductId()).ifPresent(productIds::add);
+        }
+        Mono<Map<Long, User>> users = userRepository.findAllById(userIds).collectMap(User::getId, Function.identity());
+        Mono<Map<Long, Product>> products = productRepository.findAllById(productIds).collectMap(Product::getId, Function.identity());
+        return Mono.zip(users, products)
+                .flatMap(found -> createOrderItemsBatch(requests, found.getT1(), found.getT2()))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<List<OrderItemBatchResultDTO>> createOrderItemsBatch(List<OrderItemRequestDTO> requests,
+                                                                    Map<Long, User> users, Map<Long, Product> products) {
+        OrderItemBatchResultDTO[] results = new OrderItemBatchResultDTO[requests.size()];
+        List<OrderItem> orderItems = new ArrayList<>();
+        List<Integer> orderItemIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderItemRequestDTO request = requests.get(i);
+            Optional<Long> userId = parseId(request.getUserId());
+            Optional<Long> productId = parseId(request.getProductId());
+            String error = null;
+            if (userId.isEmpty()) {
+                error = "Invalid user ID: " + request.getUserId();
+            } else if (productId.isEmpty()) {
+                error = "Invalid product ID: " + request.getProductId();
+            } else if (request.getQuantity() <= 0) {
+                error = "Quantity must be greater than 0";
+            } else if (!users.containsKey(userId.get())) {
+                error = "User with ID " + userId.get() + " not found";
+            } else if (!products.containsKey(productId.get())) {
+                error = "Product with ID " + productId.get() + " not found";
+            }
+            if (error != null) {
+                results[i] = new OrderItemBatchResultDTO(i, false, null, error);
+            } else {
+                orderItems.add(new OrderItem(null, LocalDateTime.now(), request.getQuantity(),
+                        products.get(productId.get()).getPrice(), userId.get(), productId.get(), null));
+                orderItemIndexes.add(i);
+            }
+        }
+
+        // saveAll keeps the input order, so the i-th saved row belongs to orderItemIndexes.get(i)
+        return orderItemRepository.saveAll(orderItems).collectList().map(saved -> {
+            for (int i = 0; i < saved.size(); i++) {
+                OrderItem orderItem = saved.get(i);
+                int index = orderItemIndexes.get(i);
+                results[index] = new OrderItemBatchResultDTO(index, true, toOrderItemResponseDTO(orderItem,
+                        users.get(orderItem.getUserId()), products.get(orderItem.getProductId())), null);
+            }
+            log.info("Batch of {} order items: {} created, {} rejected", requests.size(), saved.size(),
+                    requests.size() - saved.size());
+            return Arrays.asList(results);
+        });
+    }
+
+    private static Optional<Long> parseId(String id) {
+        if (id == null || id.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(id.trim()));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public Mono<OrderItemResponseDTO> updateOrderItem(Long orderItemId, int quantity, Long expectedVersion) {
+        return orderItemRepository.findById(orderItemId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("OrderItem with ID " + orderItemId + " not found")))
+                .flatMap(existingOrderItem -> {
+                    existingOrderItem.setQuantity(quantity);
+                    if (expectedVersion != null) {
+                        existingOrderItem.setVersion(expectedVersion);
+                    }
+                    return orderItemRepository.save(existingOrderItem);
+                })
+                .then(getOrderItemById(orderItemId));
+    }
+
+    public Mono<Void> deleteOrderItem(Long orderItemId) {
+        return orderItemRepository.deleteById(orderItemId);
+    }
+
+    private static OrderItemResponseDTO toOrderItemResponseDTO(OrderItem orderItem, User user, Product product) {
+        return new OrderItemResponseDTO(orderItem.getId(), orderItem.getPurchaseDate(), orderItem.getQuantity(),
+                orderItem.getVersion(), user.getId(), user.getName(), user.getEmail(), user.getVersion(),
+                product.getId(), product.getName(), product.getDescription(), product.getPrice(), product.getVersion());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.product.reactive.service;
+
+import com.product.exception.NotFoundException;
+import com.product.reactive.model.Product;
+import com.product.reactive.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ProductService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Loads up to limit rows with an id greater than afterId, in id order
+    public Flux<Product> getAllProducts(long afterId, int limit) {
+        return productRepository.findProductsAfter(afterId, limit);
+    }
+
+    public Mono<Product> getProductById(Long productId) {
+        return productRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Product with ID " + productId + " not found")));
+    }
+
+    public Mono<Product> createProduct(Product product) {
+        return productRepository.save(product);
+    }
+
+    public Mono<Product> updateProduct(Long productId, Product updatedProduct) {
+        return getProductById(productId).flatMap(existingProduct -> {
+            existingProduct.setName(updatedProduct.getName());
+            existingProduct.setDescription(updatedProduct.getDescription());
+            existingProduct.setPrice(updatedProduct.getPrice());
+            // With the version the client read, the save fails if the row changed since (409)
+            if (updatedProduct.getVersion() != null) {
+                existingProduct.setVersion(updatedProduct.getVersion());
+            }
+            return productRepository.save(existingProduct);
+        });
+    }
+
+    public Mono<Void> deleteProduct(Long productId) {
+        return productRepository.deleteById(productId);
+    }
+
+}
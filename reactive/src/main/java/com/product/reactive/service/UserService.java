@@ -0,0 +1,46 @@
+package com.product.reactive.service;
+
+import com.product.exception.NotFoundException;
+import com.product.reactive.model.User;
+import com.product.reactive.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Loads up to limit rows with an id greater than afterId, in id order
+    public Flux<User> getAllUsers(long afterId, int limit) {
+        return userRepository.findUsersAfter(afterId, limit);
+    }
+
+    public Mono<User> getUserById(Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User with ID " + userId + " not found")));
+    }
+
+    public Mono<User> createUser(User user) {
+        return userRepository.save(user);
+    }
+
+    public Mono<User> updateUser(Long userId, User updatedUser) {
+        return getUserById(userId).flatMap(existingUser -> {
+            existingUser.setName(updatedUser.getName());
+            existingUser.setEmail(updatedUser.getEmail());
+            if (updatedUser.getVersion() != null) {
+                existingUser.setVersion(updatedUser.getVersion());
+            }
+            return userRepository.save(existingUser);
+        });
+    }
+
+    public Mono<Void> deleteUser(Long userId) {
+        return userRepository.deleteById(userId);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.product.reactive.controller;
+
+import com.product.dto.OrderItemRequestDTO;
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.ProductRequestDTO;
+import com.product.dto.ProductResponseDTO;
+import com.product.dto.UserRequestDTO;
+import com.product.dto.UserResponseDTO;
+import com.product.exception.advice.CustomErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Order item endpoints of the reactive application on in-memory H2, with the schema of the Flyway migrations.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+class OrderItemControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private UserResponseDTO user;
+
+    private ProductResponseDTO product;
+
+    @BeforeEach
+    void setUp() {
+        user = webTestClient.post().uri("/users")
+                .bodyValue(new UserRequestDTO("Alice", "alice@example.com", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDTO.class)
+                .returnResult().getResponseBody();
+        product = webTestClient.post().uri("/products")
+                .bodyValue(new ProductRequestDTO("Headphones", "Wireless", 79.5, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test
+    void createsOrderItemWithUserAndProduct() {
+        OrderItemResponseDTO created = create(String.valueOf(user.getId()), String.valueOf(product.getId()), 3)
+                .expectStatus().isOk()
+                .expectBody(OrderItemResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(created.getId());
+        assertEquals(3, created.getQuantity());
+        assertEquals(0L, created.getVersion());
+        assertEquals(user, created.getUser());
+        assertEquals(product, created.getProduct());
+
+        OrderItemResponseDTO read = webTestClient.get().uri("/order-items/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderItemResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertEquals(created.getId(), read.getId());
+        assertEquals(user, read.getUser());
+        assertEquals(product, read.getProduct());
+    }
+
+    @Test
+    void invalidUserIdIsBadRequest() {
+        CustomErrorResponse error = create("abc", String.valueOf(product.getId()), 1)
+                .expectStatus().isBadRequest()
+                .expectBody(CustomErrorResponse.class)
+                .returnResult().getResponseBody();
+
+        assertEquals("Invalid user ID: abc", error.getMessage());
+    }
+
+    @Test
+    void invalidProductIdIsBadRequest() {
+        CustomErrorResponse error = create(String.valueOf(user.getId()), "12x", 1)
+                .expectStatus().isBadRequest()
+                .expectBody(CustomErrorResponse.class)
+                .returnResult().getResponseBody();
+
+        assertEquals("Invalid product ID: 12x", error.getMessage());
+    }
+
+    @Test
+    void blankUserIdIsBadRequest() {
+        create(" ", String.valueOf(product.getId()), 1).expectStatus().isBadRequest();
+    }
+
+    @Test
+    void nonPositiveQuantityIsBadRequest() {
+        create(String.valueOf(user.getId()), String.valueOf(product.getId()), 0).expectStatus().isBadRequest();
+    }
+
+    @Test
+    void unknownUserIsNotFound() {
+        create(String.valueOf(Long.MAX_VALUE), String.valueOf(product.getId()), 1).expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateWithStaleVersionIsConflict() {
+        OrderItemResponseDTO created = create(String.valueOf(user.getId()), String.valueOf(product.getId()), 1)
+                .expectBody(OrderItemResponseDTO.class)
+                .returnResult().getResponseBody();
+        update(created.getId(), 2, created.getVersion()).expectStatus().isOk();
+
+        update(created.getId(), 5, created.getVersion()).expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void updateToNonPositiveQuantityIsBadRequest() {
+        OrderItemResponseDTO created = create(String.valueOf(user.getId()), String.valueOf(product.getId()), 1)
+                .expectBody(OrderItemResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        update(created.getId(), 0, created.getVersion()).expectStatus().isBadRequest();
+        update(created.getId(), -3, null).expectStatus().isBadRequest();
+    }
+
+    private WebTestClient.ResponseSpec create(String userId, String productId, int quantity) {
+        return webTestClient.post().uri("/order-items/create")
+                .bodyValue(new OrderItemRequestDTO(userId, productId, quantity, null))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec update(long id, int quantity, Long version) {
+        return webTestClient.put().uri("/order-items/{id}", id)
+                .bodyValue(new OrderItemRequestDTO(null, null, quantity, version))
+                .exchange();
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.product.reactive.controller;
+
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.dto.ProductRequestDTO;
+import com.product.dto.ProductResponseDTO;
+import com.product.exception.advice.CustomErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Product endpoints of the reactive application on in-memory H2, with the schema of the Flyway migrations.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+class ProductControllerTest {
+
+    private static final ParameterizedTypeReference<PageResponseDTO<ProductResponseDTO>> PRODUCT_PAGE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void createsAndReadsProduct() {
+        ProductResponseDTO created = createProduct("Keyboard", 49.99);
+
+        assertNotNull(created.getId());
+        assertEquals(0L, created.getVersion());
+        ProductResponseDTO read = webTestClient.get().uri("/products/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertEquals(created, read);
+    }
+
+    @Test
+    void unknownProductIsNotFound() {
+        webTestClient.get().uri("/products/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateWithCurrentVersionIncrementsIt() {
+        ProductResponseDTO created = createProduct("Mouse", 19.99);
+
+        ProductResponseDTO updated = updateProduct(created.getId(), "Mouse", 24.99, created.getVersion())
+                .expectStatus().isOk()
+                .expectBody(ProductResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(24.99, updated.getPrice());
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    void updateWithStaleVersionIsConflict() {
+        ProductResponseDTO created = createProduct("Monitor", 199.0);
+        updateProduct(created.getId(), "Monitor", 189.0, created.getVersion()).expectStatus().isOk();
+
+        CustomErrorResponse error = updateProduct(created.getId(), "Monitor", 179.0, created.getVersion())
+                .expectStatus().isEqualTo(409)
+                .expectBody(CustomErrorResponse.class)
+                .returnResult().getResponseBody();
+
+        assertEquals("/products/" + created.getId(), error.getPath());
+        assertEquals(189.0, webTestClient.get().uri("/products/{id}", created.getId())
+                .exchange()
+                .expectBody(ProductResponseDTO.class)
+                .returnResult().getResponseBody().getPrice());
+    }
+
+    @Test
+    void pagesFollowTheCursor() {
+        ProductResponseDTO first = createProduct("Page 1", 1.0);
+        ProductResponseDTO second = createProduct("Page 2", 2.0);
+        ProductResponseDTO third = createProduct("Page 3", 3.0);
+
+        PageResponseDTO<ProductResponseDTO> page = getPage(PageCursor.encode(first.getId() - 1));
+        assertEquals(List.of(first, second), page.getItems());
+        assertNotNull(page.getNext());
+
+        PageResponseDTO<ProductResponseDTO> next = getPage(page.getNext());
+        assertEquals(List.of(third), next.getItems());
+        assertNull(next.getNext());
+    }
+
+    @Test
+    void invalidCursorIsBadRequest() {
+        webTestClient.get().uri("/products?cursor={cursor}", "not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private ProductResponseDTO createProduct(String name, double price) {
+        return webTestClient.post().uri("/products")
+                .bodyValue(new ProductRequestDTO(name, name + " description", price, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec updateProduct(long id, String name, double price, Long version) {
+        return webTestClient.put().uri("/products/{id}", id)
+                .bodyValue(new ProductRequestDTO(name, name + " description", price, version))
+                .exchange();
+    }
+
+    private PageResponseDTO<ProductResponseDTO> getPage(String cursor) {
+        return webTestClient.get().uri("/products?cursor={cursor}&size=2", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PRODUCT_PAGE)
+                .returnResult().getResponseBody();
+    }
+
+}
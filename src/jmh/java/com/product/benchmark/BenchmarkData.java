@@ -0,0 +1,51 @@
+package com.product.benchmark;
+
+import com.product.dto.OrderItemResponseDTO;
+import com.product.model.OrderItem;
+import com.product.model.Product;
+import com.product.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures shared by the JMH benchmarks.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static User user(long id) {
+        return new User(id, "User " + id, "user" + id + "@example.com");
+    }
+
+    public static Product product(long id) {
+        Product product = new Product("Product " + id, "Description of product " + id, 10.0 + id % 100);
+        product.setId(id);
+        return product;
+    }
+
+    public static OrderItem orderItem(long id) {
+        OrderItem orderItem = new OrderItem((int) (id % 10) + 1);
+        orderItem.setId(id);
+        orderItem.setUser(user(10_000 + id % 1_000));
+        orderItem.setProduct(product(20_000 + id % 5_000));
+        return orderItem;
+    }
+
+    public static List<OrderItemResponseDTO> orderItemResponses(int size) {
+        LocalDateTime purchaseDate = LocalDateTime.of(2025, 3, 5, 12, 0);
+        List<OrderItemResponseDTO> responses = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            User user = user(10_000 + id % 1_000);
+            Product product = product(20_000 + id % 5_000);
+            responses.add(new OrderItemResponseDTO(id, purchaseDate.plusSeconds(id), (int) (id % 10) + 1, 0L,
+                    user.getId(), user.getName(), user.getEmail(), 0L,
+                    product.getId(), product.getName(), product.getDescription(), product.getPrice(), 0L));
+        }
+        return responses;
+    }
+
+}
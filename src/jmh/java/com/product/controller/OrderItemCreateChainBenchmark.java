@@ -0,0 +1,77 @@
+package com.product.controller;
+
+import com.product.benchmark.BenchmarkData;
+import com.product.model.OrderItem;
+import com.product.model.Product;
+import com.product.model.User;
+import com.product.service.OrderItemService;
+import com.product.service.ProductService;
+import com.product.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The thenCombine/thenCompose chain of {@link OrderItemController#createOrderItem(Long, Long, int)}
+ * with services that complete immediately, so only the future composition and validation are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderItemCreateChainBenchmark {
+
+    private OrderItemController controller;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.user(10_000);
+        Product product = BenchmarkData.product(20_000);
+        controller = new OrderItemController();
+        inject(controller, "userService", new UserService() {
+            @Override
+            public CompletableFuture<User> fetchUserDetailsAsync(Long userId) {
+                return CompletableFuture.completedFuture(user);
+            }
+        });
+        inject(controller, "productService", new ProductService() {
+            @Override
+            public CompletableFuture<Product> fetchProductDetailsAsync(Long productId) {
+                return CompletableFuture.completedFuture(product);
+            }
+        });
+        inject(controller, "orderItemService", new OrderItemService() {
+            @Override
+            public CompletableFuture<OrderItem> createOrderItemAsync(OrderItem orderItem) {
+                orderItem.setId(30_000L);
+                return CompletableFuture.completedFuture(orderItem);
+            }
+        });
+    }
+
+    @Benchmark
+    public OrderItem createOrderItem() {
+        return controller.createOrderItem(10_000L, 20_000L, 2).join();
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.product.controller;
+
+import com.product.benchmark.BenchmarkData;
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.ProductResponseDTO;
+import com.product.model.OrderItem;
+import com.product.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mappers of the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private OrderItem orderItem;
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        orderItem = BenchmarkData.orderItem(1);
+        product = BenchmarkData.product(1);
+    }
+
+    @Benchmark
+    public OrderItemResponseDTO toOrderItemResponseDTO() {
+        return OrderItemController.toOrderItemResponseDTO(orderItem);
+    }
+
+    @Benchmark
+    public ProductResponseDTO toProductResponseDTO() {
+        return ProductController.toProductResponseDTO(product);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.product.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query and update latency of the product search index over a synthetic catalog. Names and descriptions
+ * draw words from a Zipf-like vocabulary, so some terms are in most products and others in very few.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class InvertedIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({"1000000"})
+    private int products;
+
+    /**
+     * rare: an uncommon word; common: the most frequent word; mixed: a common and an uncommon word;
+     * prefix: a two letter prefix expanding to many terms.
+     */
+    @Param({"rare", "common", "mixed", "prefix"})
+    private String queryKind;
+
+    private InvertedIndex index;
+
+    private String query;
+
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new InvertedIndex(3.0, 2, 64);
+        SplittableRandom random = new SplittableRandom(42);
+        List<InvertedIndex.Document> batch = new ArrayList<>();
+        for (long id = 1; id <= products; id++) {
+            batch.add(document(id, random));
+            if (batch.size() == 10_000) {
+                index.putAll(batch);
+                batch.clear();
+            }
+        }
+        index.putAll(batch);
+        nextId = products + 1;
+        query = switch (queryKind) {
+            case "rare" -> word(20_000);
+            case "common" -> word(0);
+            case "mixed" -> word(1) + " " + word(5_000);
+            case "prefix" -> word(7).substring(0, 2);
+            default -> throw new IllegalArgumentException(queryKind);
+        };
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> search() {
+        return index.search(query, 20);
+    }
+
+    // Create then update one product, as createProductAsync and updateProductAsync do
+    @Benchmark
+    public void putAndReplace() {
+        SplittableRandom random = new SplittableRandom(nextId);
+        long id = nextId++;
+        index.put(document(id, random));
+        index.put(document(id, random));
+    }
+
+    private static InvertedIndex.Document document(long id, SplittableRandom random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            name.append(word(zipf(random))).append(' ');
+        }
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            description.append(word(zipf(random))).append(' ');
+        }
+        return new InvertedIndex.Document(id, name.toString(), description.toString());
+    }
+
+    // Rank with probability roughly proportional to 1 / (rank + 1)
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+
+    // Distinct pronounceable word for every rank
+    private static String word(int rank) {
+        String consonants = "bcdfghklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int value = rank;
+        do {
+            word.append(consonants.charAt(value % consonants.length()));
+            value /= consonants.length();
+            word.append(vowels.charAt(value % vowels.length()));
+            value /= vowels.length();
+        } while (value > 0);
+        return word.toString();
+    }
+
+}
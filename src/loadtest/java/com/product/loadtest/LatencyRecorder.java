@@ -0,0 +1,54 @@
+package com.product.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Records request latencies of one worker thread; recorders of all workers are merged at the end.
+ */
+final class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[4096];
+
+    private int count;
+
+    private int errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    static ScenarioResult merge(String name, double elapsedSeconds, Iterable<LatencyRecorder> recorders,
+                                double peakHeapMb, int peakThreads) {
+        int total = 0;
+        int errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latenciesNanos, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        return new ScenarioResult(name, total, errors, total / elapsedSeconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.95),
+                percentileMillis(all, 0.99), percentileMillis(all, 0.999), peakHeapMb, peakThreads);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,370 @@
+package com.product.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.product.dto.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database ({@code loadtest} profile),
+ * seeds it, then drives every endpoint of the user, product and order item controllers in turn at a
+ * fixed concurrency. Prints throughput and p50/p95/p99/p999 latency per endpoint and writes them as JSON.
+ * <p>
+ * Settings are read from system properties (see the {@code loadTest} Gradle task); program arguments are
+ * passed to Spring, e.g. {@code --app.async.executor.mode=virtual}, so variants can be compared.
+ * <p>
+ * {@code loadTest.application} selects the application class, which lets the {@code reactive} module run
+ * the same scenarios against its WebFlux stack. Applications without a JDBC {@link DataSource} bean are
+ * seeded through {@code loadTest.jdbcUrl}.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final int users = Integer.getInteger("loadTest.users", 1_000);
+
+    private final int products = Integer.getInteger("loadTest.products", 1_000);
+
+    private final int orderItems = Integer.getInteger("loadTest.orderItems", 10_000);
+
+    private final int concurrency = Integer.getInteger("loadTest.concurrency", 32);
+
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadTest.durationSeconds", 10));
+
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("loadTest.warmupSeconds", 2));
+
+    private final Pattern endpoints = Pattern.compile(System.getProperty("loadTest.endpoints", ".*"));
+
+    private final String application = System.getProperty("loadTest.application", "com.product.AsyncProductApplication");
+
+    private final String profile = System.getProperty("loadTest.profile", "loadtest");
+
+    private final String jdbcUrl = System.getProperty("loadTest.jdbcUrl");
+
+    private final Path output = Path.of(System.getProperty("loadTest.output", "build/reports/loadtest/results.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Queue<Long> createdUserIds = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> createdProductIds = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> createdOrderItemIds = new ConcurrentLinkedQueue<>();
+
+    private String baseUrl;
+
+    private long[] userIds;
+
+    private long[] productIds;
+
+    private long[] orderItemIds;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run(args);
+    }
+
+    private void run(String[] springArgs) throws Exception {
+        SpringApplication springApplication = new SpringApplication(Class.forName(application));
+        springApplication.setAdditionalProfiles(profile);
+        try (ConfigurableApplicationContext context = springApplication.run(springArgs)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+            DataSource dataSource = context.getBeanProvider(DataSource.class).getIfAvailable();
+            try (Connection connection = dataSource != null
+                    ? dataSource.getConnection() : DriverManager.getConnection(jdbcUrl, "sa", "")) {
+                seed(connection);
+            }
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios()) {
+                if (!endpoints.matcher(scenario.name()).find()) {
+                    continue;
+                }
+                log.info("Running {} for {}s at concurrency {}", scenario.name(), duration.toSeconds(), concurrency);
+                drive(scenario, warmup);
+                results.add(drive(scenario, duration));
+            }
+            report(results, springArgs);
+        }
+    }
+
+    private void seed(Connection connection) throws SQLException {
+        log.info("Seeding {} users, {} products and {} order items", users, products, orderItems);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"User " + i, "user" + i + "@example.com"});
+        }
+        batchInsert(connection, "INSERT INTO users (name, email) VALUES (?, ?)", rows);
+        rows.clear();
+        for (int i = 0; i < products; i++) {
+            rows.add(new Object[]{"Product " + i, "Description of product " + i, 1.0 + i % 500});
+        }
+        batchInsert(connection, "INSERT INTO products (name, description, price) VALUES (?, ?, ?)", rows);
+        userIds = queryIds(connection, "SELECT id FROM users");
+        productIds = queryIds(connection, "SELECT id FROM products");
+        rows.clear();
+        for (int i = 0; i < orderItems; i++) {
+            rows.add(new Object[]{1 + i % 5, randomId(userIds), randomId(productIds)});
+            if (rows.size() == 1_000 || i == orderItems - 1) {
+                batchInsert(connection, "INSERT INTO order_items (quantity, user_id, product_id, unit_price)"
+                        + " SELECT ?, ?, id, price FROM products WHERE id = ?", rows);
+                rows.clear();
+            }
+        }
+        orderItemIds = queryIds(connection, "SELECT id FROM order_items");
+    }
+
+    private static void batchInsert(Connection connection, String sql, List<Object[]> rows) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static long[] queryIds(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql); ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("GET /users/{id}", () -> get("/users/" + randomId(userIds))),
+                new Scenario("GET /users", () -> get("/users?size=50&cursor=" + PageCursor.encode(randomId(userIds)))),
+                new Scenario("GET /users/{id}/order-items", () -> get("/users/" + randomId(userIds) + "/order-items?size=50")),
+                new Scenario("GET /users/get-user/{id}", () -> get("/users/get-user/" + randomId(userIds))),
+                new Scenario("POST /users", () -> send("POST", "/users",
+                        "{\"name\":\"Load User\",\"email\":\"load@example.com\"}"), rememberId(createdUserIds)),
+                new Scenario("PUT /users/{id}", () -> send("PUT", "/users/" + randomId(userIds),
+                        "{\"name\":\"Updated User\",\"email\":\"updated@example.com\"}")),
+                new Scenario("DELETE /users/{id}", () -> delete("/users/", createdUserIds)),
+
+                new Scenario("GET /products/get-product/{id}", () -> get("/products/get-product/" + randomId(productIds))),
+                new Scenario("GET /products", () -> get("/products?size=50&cursor=" + PageCursor.encode(randomId(productIds)))),
+                new Scenario("GET /products/{id}", () -> get("/products/" + randomId(productIds))),
+                new Scenario("GET /products/search", () -> get("/products/search?q=product&limit=20")),
+                new Scenario("GET /products/top", () -> get("/products/top?limit=10")),
+                new Scenario("GET /products/{id}/stats", () -> get("/products/" + randomId(productIds) + "/stats")),
+                new Scenario("POST /products", () -> send("POST", "/products",
+                        "{\"name\":\"Load Product\",\"description\":\"Created by the load test\",\"price\":9.99}"),
+                        rememberId(createdProductIds)),
+                new Scenario("PUT /products/{id}", () -> send("PUT", "/products/" + randomId(productIds),
+                        "{\"name\":\"Updated Product\",\"description\":\"Updated by the load test\",\"price\":19.99}")),
+                new Scenario("DELETE /products/{id}", () -> delete("/products/", createdProductIds)),
+                new Scenario("POST /products/import", () -> importProducts(100)),
+                new Scenario("POST /products/bulk-delete", () -> bulkDelete("/products/bulk-delete", createdProductIds, 10)),
+
+                new Scenario("POST /order-items/create-order", () -> send("POST", "/order-items/create-order?userId="
+                        + randomId(userIds) + "&productId=" + randomId(productIds) + "&quantity=1", "")),
+                new Scenario("POST /order-items/create", () -> send("POST", "/order-items/create",
+                        orderItemJson(randomId(userIds), randomId(productIds))), rememberId(createdOrderItemIds)),
+                new Scenario("POST /order-items/batch", () -> send("POST", "/order-items/batch", batchJson(10))),
+                new Scenario("GET /order-items", () -> get("/order-items?size=50&cursor=" + PageCursor.encode(randomId(orderItemIds)))),
+                new Scenario("GET /order-items?from=&to=", () -> get("/order-items?size=50&from="
+                        + LocalDateTime.now().minusDays(1).withNano(0) + "&to=" + LocalDateTime.now().plusHours(1).withNano(0))),
+                new Scenario("GET /order-items/{id}", () -> get("/order-items/" + randomId(orderItemIds))),
+                new Scenario("GET /order-items/export", () -> get("/order-items/export")),
+                new Scenario("PUT /order-items/{id}", () -> send("PUT", "/order-items/" + randomId(orderItemIds),
+                        "{\"quantity\":3}")),
+                new Scenario("PATCH /order-items/{id}/quantity", () -> send("PATCH", "/order-items/"
+                        + randomId(orderItemIds) + "/quantity?delta=1", "")),
+                new Scenario("DELETE /order-items/{id}", () -> delete("/order-items/", createdOrderItemIds))
+        );
+    }
+
+    private ScenarioResult drive(Scenario scenario, Duration runFor) {
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        threads.resetPeakThreadCount();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        long deadline = start + runFor.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Optional<HttpRequest> request = scenario.nextRequest().get();
+                        if (request.isEmpty()) {
+                            break;
+                        }
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = httpClient.send(request.get(), HttpResponse.BodyHandlers.ofString());
+                            recorder.record(System.nanoTime() - sent, response.statusCode() < 400);
+                            scenario.listener().onResponse(response.statusCode(), response.body());
+                        } catch (IOException ex) {
+                            recorder.record(System.nanoTime() - sent, false);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        // Per-pool peaks may occur at different times, so their sum is an upper bound of the heap peak
+        double peakHeapMb = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024.0 * 1024.0);
+        return LatencyRecorder.merge(scenario.name(), elapsedSeconds, recorders, peakHeapMb, threads.getPeakThreadCount());
+    }
+
+    private void report(List<ScenarioResult> results, String[] springArgs) throws IOException {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%-34s %9s %7s %10s %9s %9s %9s %9s %9s %8s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "Heap MB", "Threads"));
+        for (ScenarioResult result : results) {
+            table.append(String.format("%-34s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.1f %8d%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50(), result.p95(), result.p99(), result.p999(),
+                    result.peakHeapMb(), result.peakThreads()));
+        }
+        System.out.println(table);
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("application", application);
+        config.put("users", users);
+        config.put("products", products);
+        config.put("orderItems", orderItems);
+        config.put("concurrency", concurrency);
+        config.put("durationSeconds", duration.toSeconds());
+        config.put("warmupSeconds", warmup.toSeconds());
+        config.put("springArgs", springArgs);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("results", results);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writeValue(output.toFile(), report);
+        log.info("Results written to {}", output.toAbsolutePath());
+    }
+
+    private Optional<HttpRequest> get(String path) {
+        return Optional.of(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+    }
+
+    private Optional<HttpRequest> send(String method, String path, String json) {
+        return Optional.of(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private Optional<HttpRequest> importProducts(int rows) {
+        StringBuilder csv = new StringBuilder("name,description,price\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Imported Product ").append(i).append(",\"Imported by the load test, row ").append(i).append("\",")
+                    .append(1 + i % 500).append(".99\n");
+        }
+        return Optional.of(HttpRequest.newBuilder(URI.create(baseUrl + "/products/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build());
+    }
+
+    // Only entities created by the load test are deleted, so seeded data stays intact
+    private Optional<HttpRequest> delete(String path, Queue<Long> createdIds) {
+        Long id = createdIds.poll();
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.of(HttpRequest.newBuilder(URI.create(baseUrl + path + id)).DELETE().build());
+    }
+
+    private Optional<HttpRequest> bulkDelete(String path, Queue<Long> createdIds, int count) {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while (ids.size() < count && (id = createdIds.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+        return send("POST", path, ids.toString());
+    }
+
+    private Scenario.ResponseListener rememberId(Queue<Long> createdIds) {
+        return (status, body) -> {
+            if (status < 400) {
+                try {
+                    JsonNode id = objectMapper.readTree(body).get("id");
+                    if (id != null) {
+                        createdIds.add(id.asLong());
+                    }
+                } catch (IOException ex) {
+                    log.warn("Cannot read id from response: {}", ex.getMessage());
+                }
+            }
+        };
+    }
+
+    private String orderItemJson(long userId, long productId) {
+        return "{\"userId\":\"" + userId + "\",\"productId\":\"" + productId + "\",\"quantity\":1}";
+    }
+
+    private String batchJson(int size) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(orderItemJson(randomId(userIds), randomId(productIds)));
+        }
+        return "[" + String.join(",", items) + "]";
+    }
+
+    private static long randomId(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+}
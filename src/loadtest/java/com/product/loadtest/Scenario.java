@@ -0,0 +1,23 @@
+package com.product.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint driven by the load test. The supplier builds the next request, or returns an empty
+ * optional when there is nothing to send (e.g. no created entity left to delete).
+ */
+record Scenario(String name, Supplier<Optional<HttpRequest>> nextRequest, ResponseListener listener) {
+
+    Scenario(String name, Supplier<Optional<HttpRequest>> nextRequest) {
+        this(name, nextRequest, (status, body) -> {
+        });
+    }
+
+    @FunctionalInterface
+    interface ResponseListener {
+        void onResponse(int status, String body);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.product.loadtest;
+
+/**
+ * Throughput and latency percentiles (in milliseconds) of one scenario, with the peak heap use (in MB)
+ * and peak number of platform threads of the JVM while it ran.
+ */
+public record ScenarioResult(String endpoint, int requests, int errors, double throughput,
+                      double p50, double p95, double p99, double p999,
+                      double peakHeapMb, int peakThreads) {
+}
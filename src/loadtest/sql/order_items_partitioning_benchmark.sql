@@ -0,0 +1,112 @@
+-- Date range query on order_items: monthly partitions vs one table, at tens of millions of rows.
+-- Runs in its own schema and leaves the application tables untouched:
+--   psql -h localhost -p 5438 -U microservices_user -d microservicesdb -v rows=20000000 \
+--        -f src/loadtest/sql/order_items_partitioning_benchmark.sql
+-- Generating 20M rows takes a few minutes and about 3 GB of disk per layout.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 20000000
+\endif
+\timing off
+
+DROP SCHEMA IF EXISTS partition_bench CASCADE;
+CREATE SCHEMA partition_bench;
+SET search_path TO partition_bench;
+
+-- Same columns and indexes as the application tables, spread evenly over the last 24 months
+CREATE TABLE order_items_flat
+(
+    id            BIGINT    NOT NULL PRIMARY KEY,
+    purchase_date TIMESTAMP NOT NULL,
+    quantity      INTEGER   NOT NULL,
+    user_id       BIGINT    NOT NULL,
+    product_id    BIGINT    NOT NULL
+);
+
+CREATE TABLE order_items_partitioned
+(
+    id            BIGINT    NOT NULL,
+    purchase_date TIMESTAMP NOT NULL,
+    quantity      INTEGER   NOT NULL,
+    user_id       BIGINT    NOT NULL,
+    product_id    BIGINT    NOT NULL,
+    PRIMARY KEY (id, purchase_date)
+) PARTITION BY RANGE (purchase_date);
+
+SELECT format('CREATE TABLE order_items_partitioned_%s PARTITION OF order_items_partitioned FOR VALUES FROM (%L) TO (%L)',
+              to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month')
+FROM generate_series(date_trunc('month', now() - INTERVAL '24 months'), date_trunc('month', now()), INTERVAL '1 month') AS month
+\gexec
+
+INSERT INTO order_items_flat
+SELECT i,
+       now() - INTERVAL '24 months' * (i::DOUBLE PRECISION / :rows),
+       1 + (i % 5),
+       1 + (i % 100000),
+       1 + ((i * 7) % 10000)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO order_items_partitioned
+SELECT * FROM order_items_flat;
+
+CREATE INDEX ON order_items_flat (purchase_date, id);
+CREATE INDEX ON order_items_partitioned (purchase_date, id);
+VACUUM ANALYZE order_items_flat;
+VACUUM ANALYZE order_items_partitioned;
+
+SELECT pg_size_pretty(pg_total_relation_size('order_items_flat'))        AS flat_size,
+       (SELECT pg_size_pretty(SUM(pg_total_relation_size(inhrelid)))
+        FROM pg_inherits
+        WHERE inhparent = 'order_items_partitioned'::regclass)             AS partitioned_size;
+
+-- The query of GET /order-items?from=&to=: first page and a page deep into a one month range
+PREPARE flat_page(TIMESTAMP, TIMESTAMP, TIMESTAMP, BIGINT) AS
+    SELECT id, purchase_date, quantity, user_id, product_id
+    FROM order_items_flat
+    WHERE purchase_date >= $1 AND purchase_date < $2
+      AND (purchase_date > $3 OR (purchase_date = $3 AND id > $4))
+    ORDER BY purchase_date, id
+    LIMIT 51;
+
+PREPARE partitioned_page(TIMESTAMP, TIMESTAMP, TIMESTAMP, BIGINT) AS
+    SELECT id, purchase_date, quantity, user_id, product_id
+    FROM order_items_partitioned
+    WHERE purchase_date >= $1 AND purchase_date < $2
+      AND (purchase_date > $3 OR (purchase_date = $3 AND id > $4))
+    ORDER BY purchase_date, id
+    LIMIT 51;
+
+-- Aggregate over the same month: touches every row of the range
+PREPARE flat_month_total(TIMESTAMP, TIMESTAMP) AS
+    SELECT COUNT(*), SUM(quantity) FROM order_items_flat WHERE purchase_date >= $1 AND purchase_date < $2;
+
+PREPARE partitioned_month_total(TIMESTAMP, TIMESTAMP) AS
+    SELECT COUNT(*), SUM(quantity) FROM order_items_partitioned WHERE purchase_date >= $1 AND purchase_date < $2;
+
+-- A month half a year back, and a position in the middle of it
+SELECT date_trunc('month', now()) - INTERVAL '6 months'                         AS "from",
+       date_trunc('month', now()) - INTERVAL '5 months'                         AS "to",
+       date_trunc('month', now()) - INTERVAL '6 months' + INTERVAL '15 days'              AS middle
+\gset
+
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE flat_page(:'from', :'to', :'from', 0);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE partitioned_page(:'from', :'to', :'from', 0);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE flat_page(:'from', :'to', :'middle', 0);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE partitioned_page(:'from', :'to', :'middle', 0);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE flat_month_total(:'from', :'to');
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE partitioned_month_total(:'from', :'to');
+
+-- Dropping a month of data: DELETE on one table vs DETACH + DROP of a partition
+\timing on
+BEGIN;
+DELETE FROM order_items_flat WHERE purchase_date >= :'from' AND purchase_date < :'to';
+ROLLBACK;
+BEGIN;
+SELECT format('ALTER TABLE order_items_partitioned DETACH PARTITION order_items_partitioned_%s', to_char(:'from'::DATE, 'YYYYMM'))
+\gexec
+ROLLBACK;
+
+RESET search_path;
+-- DROP SCHEMA partition_bench CASCADE;  -- when done
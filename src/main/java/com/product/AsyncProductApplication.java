@@ -2,10 +2,14 @@ package com.product;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableAsync  // Enable asynchronous processing
+@EnableScheduling  // Periodic flush of the sales counters
 public class AsyncProductApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,61 @@
+package com.product.chaos;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runtime control of fault injection:
+ * {@code GET /actuator/chaos} shows the state, {@code POST /actuator/chaos {"enabled": true}} switches it,
+ * and {@code POST /actuator/chaos/{operation}} changes the rule of one operation.
+ */
+@Component
+@Endpoint(id = "chaos")
+public class FaultInjectionEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    public FaultInjectionEndpoint(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", faultInjector.isEnabled());
+        status.put("operations", faultInjector.getRules());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(boolean enabled) {
+        faultInjector.setEnabled(enabled);
+        return status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> setRule(@Selector String operation, @Nullable Boolean enabled,
+                                       @Nullable Long delayMillis, @Nullable Double errorRate) {
+        FaultInjectionProperties.Rule existing = faultInjector.getRules().get(operation);
+        FaultInjectionProperties.Rule rule = existing != null ? existing.copy() : new FaultInjectionProperties.Rule();
+        if (enabled != null) {
+            rule.setEnabled(enabled);
+        }
+        if (delayMillis != null) {
+            rule.setDelay(Duration.ofMillis(delayMillis));
+        }
+        if (errorRate != null) {
+            rule.setErrorRate(errorRate);
+        }
+        faultInjector.setRule(operation, rule);
+        return status();
+    }
+
+}
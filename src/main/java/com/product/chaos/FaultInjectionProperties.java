@@ -0,0 +1,75 @@
+package com.product.chaos;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency and error injection for chaos testing. Off unless {@code app.fault-injection.enabled} is set,
+ * which the {@code chaos} profile does.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.fault-injection")
+public class FaultInjectionProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Rules by service operation name, e.g. {@code "[product.fetchDetails]"}.
+     */
+    private Map<String, Rule> operations = new LinkedHashMap<>();
+
+    public enum DelayDistribution {
+        /**
+         * Always {@code delay}.
+         */
+        FIXED,
+        /**
+         * Uniformly between {@code delay} and {@code max-delay}.
+         */
+        UNIFORM,
+        /**
+         * Normal around {@code delay} with standard deviation {@code std-dev}, never negative.
+         */
+        NORMAL,
+        /**
+         * Exponential with mean {@code delay}, which gives a long tail.
+         */
+        EXPONENTIAL
+    }
+
+    @Data
+    public static class Rule {
+
+        private boolean enabled = true;
+
+        private DelayDistribution distribution = DelayDistribution.FIXED;
+
+        private Duration delay = Duration.ZERO;
+
+        private Duration maxDelay = Duration.ZERO;
+
+        private Duration stdDev = Duration.ZERO;
+
+        /**
+         * Probability between 0 and 1 that a call fails with an injected error.
+         */
+        private double errorRate = 0.0;
+
+        public Rule copy() {
+            Rule rule = new Rule();
+            rule.setEnabled(enabled);
+            rule.setDistribution(distribution);
+            rule.setDelay(delay);
+            rule.setMaxDelay(maxDelay);
+            rule.setStdDev(stdDev);
+            rule.setErrorRate(errorRate);
+            return rule;
+        }
+
+    }
+
+}
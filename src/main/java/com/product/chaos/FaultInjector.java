@@ -0,0 +1,119 @@
+package com.product.chaos;
+
+import com.product.deadline.Deadline;
+import com.product.exception.InjectedFaultException;
+import com.product.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Applies the configured latency and errors in front of service operations.
+ * <p>
+ * When injection is off (the default) {@link #around(String, Supplier)} only reads one volatile flag.
+ * Injected delays never block a thread: the call is started by the application's {@link TaskScheduler} once the
+ * sampled delay has elapsed, with the caller's {@link Deadline} attached, so the delayed call is bounded by the
+ * same deadline as an undelayed one.
+ */
+@Component
+@Slf4j
+public class FaultInjector {
+
+    private volatile boolean enabled;
+
+    private final Map<String, FaultInjectionProperties.Rule> rules = new ConcurrentHashMap<>();
+
+    private final TaskScheduler taskScheduler;
+
+    public FaultInjector(FaultInjectionProperties properties, TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+        this.enabled = properties.isEnabled();
+        properties.getOperations().forEach((operation, rule) -> rules.put(operation, rule.copy()));
+        if (enabled) {
+            log.warn("Fault injection is enabled for {}", rules.keySet());
+        }
+    }
+
+    public <T> CompletableFuture<T> around(String operation, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        FaultInjectionProperties.Rule rule = rules.get(operation);
+        if (rule == null || !rule.isEnabled()) {
+            return call.get();
+        }
+        long delayMillis = sampleDelayMillis(rule);
+        boolean fail = rule.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < rule.getErrorRate();
+        Supplier<CompletableFuture<T>> faultyCall = fail
+                ? () -> CompletableFuture.failedFuture(new InjectedFaultException("Injected fault in " + operation))
+                : call;
+        if (delayMillis <= 0) {
+            return faultyCall.get();
+        }
+        return delayed(delayMillis, faultyCall);
+    }
+
+    private <T> CompletableFuture<T> delayed(long delayMillis, Supplier<CompletableFuture<T>> call) {
+        Deadline deadline = Deadline.current();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            taskScheduler.schedule(() -> {
+                Deadline previous = Deadline.attach(deadline);
+                try {
+                    call.get().whenComplete((value, ex) -> {
+                        if (ex == null) {
+                            result.complete(value);
+                        } else {
+                            result.completeExceptionally(ex);
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                } finally {
+                    Deadline.restore(previous);
+                }
+            }, Instant.now().plusMillis(delayMillis));
+        } catch (TaskRejectedException ex) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException("Fault injection scheduler is saturated", ex));
+        }
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        log.warn("Fault injection {}", enabled ? "enabled" : "disabled");
+        this.enabled = enabled;
+    }
+
+    public Map<String, FaultInjectionProperties.Rule> getRules() {
+        return Map.copyOf(rules);
+    }
+
+    public void setRule(String operation, FaultInjectionProperties.Rule rule) {
+        log.warn("Fault injection rule for {} set to {}", operation, rule);
+        rules.put(operation, rule.copy());
+    }
+
+    private static long sampleDelayMillis(FaultInjectionProperties.Rule rule) {
+        long delay = rule.getDelay().toMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (rule.getDistribution()) {
+            case FIXED -> delay;
+            case UNIFORM -> delay + (long) (random.nextDouble() * Math.max(0, rule.getMaxDelay().toMillis() - delay));
+            case NORMAL -> Math.max(0, Math.round(delay + random.nextGaussian() * rule.getStdDev().toMillis()));
+            case EXPONENTIAL -> Math.round(-delay * Math.log(1 - random.nextDouble()));
+        };
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.product.concurrent;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the gradient limiter of
+ * Netflix concurrency-limits.
+ * <p>
+ * Two moving averages of the round-trip time are tracked: a short one that follows the current
+ * latency and a long one that approximates the latency of an idle system. While the short average stays
+ * close to the long one the limit grows by a queue allowance of {@code sqrt(limit)}; when queueing
+ * drives latency up, the gradient {@code tolerance * longRtt / shortRtt} falls below 1 and the limit
+ * shrinks proportionally. Dropped calls (rejected further down or expired before running) back the
+ * limit off by 10%.
+ * <p>
+ * {@link #tryAcquire()} never blocks: a call over the limit is refused immediately, so excess load is
+ * shed before it piles up in the executor queue.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double longSmoothing;
+
+    private final double smoothing;
+
+    private final Object lock = new Object();
+
+    private volatile double limit;
+
+    private int inFlight;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    /**
+     * @param initialLimit limit before any latency was observed
+     * @param minLimit     the limit never goes below this
+     * @param maxLimit     the limit never goes above this
+     * @param tolerance    how much the current latency may exceed the baseline before the limit shrinks, e.g. 1.5
+     * @param longWindow   number of samples averaged by the baseline latency
+     * @param smoothing    weight of each new limit estimate, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      int longWindow, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.longSmoothing = 2.0 / (longWindow + 1);
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot when fewer than {@link #getLimit()} calls are in flight. A successful acquire must be
+     * followed by exactly one {@link #release(long)} or {@link #releaseDropped()}.
+     */
+    public boolean tryAcquire() {
+        synchronized (lock) {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the round-trip time of the call, from acquire to completion, into the limit.
+     */
+    public void release(long rttNanos) {
+        synchronized (lock) {
+            int inFlightAtCompletion = inFlight;
+            inFlight--;
+            if (rttNanos <= 0) {
+                return;
+            }
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+                return;
+            }
+            shortRtt += SHORT_SMOOTHING * (rttNanos - shortRtt);
+            longRtt += longSmoothing * (shortRtt - longRtt);
+            // Recover quickly after a sustained latency increase instead of treating it as the new baseline
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            // Latency observed far below the limit says nothing about the limit being too low
+            if (inFlightAtCompletion < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double estimate = limit * gradient + Math.sqrt(limit);
+            setLimit(limit * (1 - smoothing) + estimate * smoothing);
+        }
+    }
+
+    /**
+     * Releases a slot of a call that was dropped without producing a latency sample.
+     */
+    public void releaseDropped() {
+        synchronized (lock) {
+            inFlight--;
+            setLimit(limit * DROP_BACKOFF);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+}
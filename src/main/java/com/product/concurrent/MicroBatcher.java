@@ -0,0 +1,116 @@
+package com.product.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups into batches, DataLoader style.
+ * <p>
+ * Keys requested within {@code window} of the first pending key, or until {@code maxBatchSize}
+ * distinct keys are pending, are resolved with one call to the batch loader. Every caller's future
+ * is completed with the value of its key, or {@code null} when the loader returned no value for it.
+ * Duplicate keys within a batch share one entry.
+ */
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader;
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize,
+                        Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+        this.batchLoader = batchLoader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name(name).factory());
+    }
+
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> fullBatch = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future.copy();
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    // Must be called while holding the lock
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new HashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        CompletableFuture<Map<K, V>> values;
+        try {
+            values = batchLoader.apply(new HashSet<>(batch.keySet()));
+        } catch (Throwable ex) {
+            values = CompletableFuture.failedFuture(ex);
+        }
+        values.whenComplete((result, ex) -> batch.forEach((key, future) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+            } else {
+                future.complete(result.get(key));
+            }
+        }));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        // Do not leave callers waiting on keys that will never be flushed
+        flush();
+    }
+
+}
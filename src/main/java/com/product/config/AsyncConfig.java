@@ -1,22 +1,48 @@
 package com.product.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.util.concurrent.Executor;
 
 @Configuration
+@Slf4j
 public class AsyncConfig {
 
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(AsyncExecutorProperties properties, DataSource dataSource) {
+        if (properties.getMode() == AsyncExecutorProperties.Mode.VIRTUAL) {
+            // Bound by connections rather than threads: extra tasks would only wait for a connection anyway
+            int maxConcurrency = properties.getMaxConcurrency() > 0
+                    ? properties.getMaxConcurrency()
+                    : connectionPoolSize(dataSource);
+            log.info("Using virtual thread task executor with max concurrency {}", maxConcurrency);
+            return new VirtualThreadTaskExecutor(properties.getThreadNamePrefix(), maxConcurrency,
+                    properties.getQueueCapacity());
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("AsyncExecutor-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(properties.getThreadNamePrefix());
         executor.initialize();
         return executor;
     }
+
+    // Size of the pool actually built, whatever property or default it came from
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the connection pool size", ex);
+        }
+        throw new IllegalStateException("The data source is not a Hikari pool, set app.async.executor.max-concurrency");
+    }
 }
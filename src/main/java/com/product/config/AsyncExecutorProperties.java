@@ -0,0 +1,47 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@code taskExecutor} used by the async service layer.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.async.executor")
+public class AsyncExecutorProperties {
+
+    /**
+     * Execution mode of the executor.
+     */
+    private Mode mode = Mode.PLATFORM;
+
+    private int corePoolSize = 4;
+
+    private int maxPoolSize = 8;
+
+    /**
+     * Number of tasks allowed to wait for a free thread (or permit in virtual mode) before
+     * new tasks are rejected.
+     */
+    private int queueCapacity = 100;
+
+    private String threadNamePrefix = "AsyncExecutor-";
+
+    /**
+     * Maximum number of tasks running at once in {@link Mode#VIRTUAL} mode.
+     * Zero means "use the JDBC connection pool size".
+     */
+    private int maxConcurrency = 0;
+
+    public enum Mode {
+        /**
+         * Fixed pool of platform threads with a bounded queue.
+         */
+        PLATFORM,
+        /**
+         * One virtual thread per task, concurrency bounded by a semaphore.
+         */
+        VIRTUAL
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Limits of the bulk user and product delete endpoints and of the background delete jobs.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulk-delete")
+public class BulkDeleteProperties {
+
+    /**
+     * Maximum number of ids accepted by one bulk delete request.
+     */
+    private int maxSize = 1000;
+
+    /**
+     * Order items removed per transaction by a delete job before the users or products themselves are deleted.
+     */
+    private int chunkSize = 10_000;
+
+    /**
+     * Number of finished jobs whose status is kept for {@code GET /delete-jobs/{id}}.
+     */
+    private int retainedJobs = 100;
+
+    /**
+     * Returns the distinct ids of a bulk delete request, rejecting empty, oversized and null entries.
+     */
+    public List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id must be given");
+        }
+        if (ids.size() > maxSize) {
+            throw new IllegalArgumentException("Must not delete more than " + maxSize + " ids at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        return ids.stream().distinct().toList();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.product.config;
+
+import com.product.concurrent.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimiterConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter serviceConcurrencyLimiter(ConcurrencyLimiterProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTolerance(), properties.getLongWindow(),
+                properties.getSmoothing());
+    }
+
+    @Bean
+    public MeterBinder serviceConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter serviceConcurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("service.limiter.limit", serviceConcurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive limit of concurrent service calls")
+                    .baseUnit(BaseUnits.TASKS)
+                    .register(registry);
+            Gauge.builder("service.limiter.inflight", serviceConcurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Service calls currently admitted by the limiter")
+                    .baseUnit(BaseUnits.TASKS)
+                    .register(registry);
+        };
+    }
+
+}
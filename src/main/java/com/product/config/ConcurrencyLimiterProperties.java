@@ -0,0 +1,36 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive concurrency limit of the service calls dispatched by {@code AsyncServiceExecutor}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.limiter")
+public class ConcurrencyLimiterProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    /**
+     * How much the current latency may exceed the baseline before the limit shrinks.
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Number of samples averaged by the baseline latency.
+     */
+    private int longWindow = 600;
+
+    /**
+     * Weight of each new limit estimate.
+     */
+    private double smoothing = 0.2;
+
+}
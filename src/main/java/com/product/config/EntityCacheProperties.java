@@ -0,0 +1,25 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the in-process product and user caches.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class EntityCacheProperties {
+
+    /**
+     * Maximum number of entries per cache, least recently used entries are evicted first.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which an entry is reloaded from the database, bounding how stale a cached entity can be.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+}
@@ -0,0 +1,45 @@
+package com.product.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Saturation gauges of the virtual-thread {@code taskExecutor}.
+ * <p>
+ * In platform mode Spring Boot already binds {@code executor.active}, {@code executor.queued} and the
+ * other {@code executor.*} gauges of the {@code ThreadPoolTaskExecutor}; the virtual-thread executor
+ * publishes the same names with the same {@code name} tag, so dashboards work in both modes.
+ */
+@Configuration
+public class ExecutorMetricsConfig {
+
+    @Bean
+    public MeterBinder virtualThreadExecutorMetrics(@Qualifier("taskExecutor") Executor taskExecutor) {
+        return registry -> {
+            if (taskExecutor instanceof VirtualThreadTaskExecutor executor) {
+                Gauge.builder("executor.active", executor, VirtualThreadTaskExecutor::getActiveCount)
+                        .description("Tasks currently running")
+                        .baseUnit(BaseUnits.THREADS)
+                        .tag("name", "taskExecutor")
+                        .register(registry);
+                Gauge.builder("executor.queued", executor, VirtualThreadTaskExecutor::getWaitingCount)
+                        .description("Tasks waiting for a permit")
+                        .baseUnit(BaseUnits.TASKS)
+                        .tag("name", "taskExecutor")
+                        .register(registry);
+                Gauge.builder("executor.pool.max", executor, VirtualThreadTaskExecutor::getMaxConcurrency)
+                        .description("Maximum number of tasks running at once")
+                        .baseUnit(BaseUnits.THREADS)
+                        .tag("name", "taskExecutor")
+                        .register(registry);
+            }
+        };
+    }
+
+}
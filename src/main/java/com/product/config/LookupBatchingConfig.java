@@ -0,0 +1,44 @@
+package com.product.config;
+
+import com.product.concurrent.MicroBatcher;
+import com.product.model.Product;
+import com.product.model.User;
+import com.product.repository.ProductRepository;
+import com.product.repository.UserRepository;
+import com.product.service.AsyncServiceExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.lookup-batching", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LookupBatchingConfig {
+
+    @Bean(destroyMethod = "close")
+    public MicroBatcher<Long, Product> productLookupBatcher(LookupBatchingProperties properties,
+                                                            ProductRepository productRepository,
+                                                            AsyncServiceExecutor asyncServiceExecutor) {
+        return new MicroBatcher<>("product-lookup-batcher", properties.getWindow(), properties.getMaxBatchSize(),
+                ids -> asyncServiceExecutor.supplyShared("product.findBatch", () -> {
+                    Map<Long, Product> products = new HashMap<>();
+                    productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+                    return products;
+                }));
+    }
+
+    @Bean(destroyMethod = "close")
+    public MicroBatcher<Long, User> userLookupBatcher(LookupBatchingProperties properties,
+                                                      UserRepository userRepository,
+                                                      AsyncServiceExecutor asyncServiceExecutor) {
+        return new MicroBatcher<>("user-lookup-batcher", properties.getWindow(), properties.getMaxBatchSize(),
+                ids -> asyncServiceExecutor.supplyShared("user.findBatch", () -> {
+                    Map<Long, User> users = new HashMap<>();
+                    userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+                    return users;
+                }));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Micro-batching of product and user lookups by id into one {@code IN} query.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.lookup-batching")
+public class LookupBatchingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long the first lookup of a batch waits for others to join it.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Number of distinct ids that triggers the query before the window ends.
+     */
+    private int maxBatchSize = 100;
+
+}
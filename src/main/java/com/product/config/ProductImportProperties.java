@@ -0,0 +1,28 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Chunking and error reporting of the streaming product import behind {@code POST /products/import}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.product-import")
+public class ProductImportProperties {
+
+    /**
+     * Valid rows written per transaction; the import holds at most one chunk in memory.
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * Longest accepted row in characters; longer rows are rejected without being buffered.
+     */
+    private int maxRowLength = 65_536;
+
+    /**
+     * Number of rejected rows described in the response; further rejections are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+}
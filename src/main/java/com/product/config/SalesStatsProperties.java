@@ -0,0 +1,34 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-memory per-product sales counters and their summary table.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sales-stats")
+public class SalesStatsProperties {
+
+    public enum RebuildSource {
+        /**
+         * Load the counters from {@code product_sales_summary}.
+         */
+        SUMMARY,
+        /**
+         * Aggregate {@code order_items} once and correct the summary table at the next flush, which also
+         * recovers the deltas lost by an unclean shutdown.
+         */
+        ORDER_ITEMS
+    }
+
+    /**
+     * How often pending deltas are written to {@code product_sales_summary}.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    private RebuildSource rebuildFrom = RebuildSource.SUMMARY;
+
+}
@@ -0,0 +1,38 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ranking and limits of the in-memory product search behind {@code GET /products/search}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * Weight of a term in the product name relative to the same term in the description.
+     */
+    private double nameBoost = 3.0;
+
+    /**
+     * Query terms at least this long also match the indexed terms they are a prefix of.
+     */
+    private int minPrefixLength = 2;
+
+    /**
+     * Maximum number of indexed terms a query term expands to by prefix.
+     */
+    private int maxPrefixExpansions = 64;
+
+    /**
+     * Largest {@code limit} accepted by the search endpoint.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Products read per keyset page while the index is built at startup.
+     */
+    private int buildPageSize = 10_000;
+
+}
@@ -0,0 +1,32 @@
+package com.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sliding-window heavy hitters behind {@code GET /products/top}. Memory is
+ * {@code buckets * depth * width} counters plus {@code capacity} tracked products, whatever the traffic.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+
+    private Duration window = Duration.ofHours(1);
+
+    /**
+     * Number of time buckets the window is split into; counts expire one bucket at a time.
+     */
+    private int buckets = 12;
+
+    /**
+     * Number of products tracked as top candidates, and the largest {@code limit} accepted.
+     */
+    private int capacity = 100;
+
+    private int depth = 4;
+
+    private int width = 2048;
+
+}
@@ -0,0 +1,88 @@
+package com.product.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that starts a virtual thread per task and lets at most {@code maxConcurrency}
+ * of them run at the same time.
+ * <p>
+ * Tasks over the limit park on the semaphore inside their own virtual thread, which costs
+ * no platform thread. The limit is meant to match the JDBC connection pool size, so the
+ * executor never runs more blocking repository calls than there are connections to serve them.
+ * At most {@code queueCapacity} tasks may wait for a permit; further tasks are rejected.
+ */
+@Slf4j
+public class VirtualThreadTaskExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    private final int queueCapacity;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (pending.incrementAndGet() > maxConcurrency + queueCapacity) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Virtual thread executor is saturated: "
+                    + maxConcurrency + " running, " + queueCapacity + " waiting");
+        }
+        try {
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        log.info("Shutting down virtual thread executor");
+        delegate.close();
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.product.controller;
+
+import com.product.dto.DeleteJobDTO;
+import com.product.service.DeleteJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/delete-jobs")
+public class DeleteJobController {
+
+    @Autowired
+    private DeleteJobService deleteJobService;
+
+    // Status and progress of a background delete started with ?async=true
+    @GetMapping("/{id}")
+    public DeleteJobDTO getDeleteJob(@PathVariable("id") String jobId) {
+        return deleteJobService.getJob(jobId);
+    }
+
+}
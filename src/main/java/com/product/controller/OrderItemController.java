@@ -1,25 +1,39 @@
 package com.product.controller;
 
+import com.product.config.PaginationProperties;
+import com.product.dto.OrderItemBatchResponseDTO;
+import com.product.dto.OrderItemBatchResultDTO;
 import com.product.dto.OrderItemRequestDTO;
 import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
 import com.product.dto.ProductResponseDTO;
 import com.product.dto.UserResponseDTO;
+import com.product.exception.DeadlineExceededException;
 import com.product.exception.NotFoundException;
 import com.product.exception.OrderCreateException;
+import com.product.exception.ServiceUnavailableException;
 import com.product.model.OrderItem;
 import com.product.model.Product;
 import com.product.model.User;
+import com.product.service.OrderItemBatchOutcome;
+import com.product.service.OrderItemExportService;
 import com.product.service.OrderItemService;
 import com.product.service.ProductService;
 import com.product.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/order-items")
@@ -35,6 +49,12 @@ public class OrderItemController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private OrderItemExportService orderItemExportService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     /**
      * Endpoint to create an OrderItem for a given user and product.
      * For simplicity, quantity is passed as a parameter.
@@ -75,28 +95,62 @@ public class OrderItemController {
                     return orderItem;
                 })
                 // Save the OrderItem asynchronously
-                .thenCompose(orderItem ->
-                        CompletableFuture.supplyAsync(() -> orderItemService.saveOrderItem(orderItem))
-                )
+                .thenCompose(orderItem -> orderItemService.createOrderItemAsync(orderItem))
                 .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    // Back-pressure and expired deadlines are not client errors, let them reach the handler as 503/504
+                    if (cause instanceof ServiceUnavailableException serviceUnavailable) {
+                        throw serviceUnavailable;
+                    }
+                    if (cause instanceof DeadlineExceededException deadlineExceeded) {
+                        throw deadlineExceeded;
+                    }
                     // Log the exception (or rethrow as a custom exception)
                     log.error("Error creating order item: {}", ex.getMessage());
                     throw new OrderCreateException("Error creating order item", ex);
                 });
     }
 
-    // Get all order items
+    // Get one page of order items, ordered by id
     @GetMapping
-    public CompletableFuture<List<OrderItemResponseDTO>> getAllOrderItems() {
-        return orderItemService.getAllOrderItemsAsync().thenApply(orderItems ->
-                orderItems.stream().map(this::toOrderItemResponseDTO).collect(Collectors.toList())
+    public CompletableFuture<PageResponseDTO<OrderItemResponseDTO>> getAllOrderItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return orderItemService.getAllOrderItemsAsync(PageCursor.decode(cursor), pageSize + 1).thenApply(orderItems ->
+                PageResponseDTO.of(orderItems, pageSize, dto -> PageCursor.encode(dto.getId()))
         );
     }
 
+    // Get one page of the order items purchased in [from, to), ordered by purchase date then id
+    @GetMapping(params = {"from", "to"})
+    public CompletableFuture<PageResponseDTO<OrderItemResponseDTO>> getOrderItemsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (!from.isBefore(to)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("'from' must be before 'to'"));
+        }
+        int pageSize = paginationProperties.resolveSize(size);
+        return orderItemService.getOrderItemsBetweenAsync(from, to, PageCursor.decode(cursor, from), pageSize + 1)
+                .thenApply(orderItems -> PageResponseDTO.of(orderItems, pageSize,
+                        dto -> PageCursor.encode(dto.getPurchaseDate(), dto.getId())));
+    }
+
+    // Stream every order item as newline-delimited JSON, without loading the table in memory.
+    // Written synchronously so long exports are not cut by the async request timeout.
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportOrderItems(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        orderItemExportService.exportOrderItems(response.getOutputStream());
+    }
+
     // Get order item by ID
     @GetMapping("/{id}")
     public CompletableFuture<OrderItemResponseDTO> getOrderItemById(@PathVariable("id") String orderItemId) {
-        return orderItemService.getOrderItemByIdAsync(orderItemId).thenApply(this::toOrderItemResponseDTO);
+        return orderItemService.getOrderItemByIdAsync(orderItemId);
     }
 
     // Create order item asynchronously with validation
@@ -123,17 +177,43 @@ public class OrderItemController {
             return orderItem;
         }).thenCompose(orderItem ->
                 orderItemService.createOrderItemAsync(orderItem)
-        ).thenApply(this::toOrderItemResponseDTO);
+        ).thenApply(OrderItemController::toOrderItemResponseDTO);
     }
 
-    // Update order item
+    // Create many order items in one transaction, reporting the outcome of each entry
+    @PostMapping("/batch")
+    public CompletableFuture<OrderItemBatchResponseDTO> createOrderItems(@RequestBody List<OrderItemRequestDTO> requestDTOs) {
+        return orderItemService.createOrderItemsBatchAsync(requestDTOs).thenApply(outcomes -> {
+            List<OrderItemBatchResultDTO> results = outcomes.stream()
+                    .map(outcome -> new OrderItemBatchResultDTO(outcome.index(), outcome.isCreated(),
+                            outcome.isCreated() ? toOrderItemResponseDTO(outcome.orderItem()) : null,
+                            outcome.error()))
+                    .toList();
+            int created = (int) outcomes.stream().filter(OrderItemBatchOutcome::isCreated).count();
+            return new OrderItemBatchResponseDTO(created, outcomes.size() - created, results);
+        });
+    }
+
+    // Update order item, conditional on the "version" of the body when given
     @PutMapping("/{id}")
     public CompletableFuture<OrderItemResponseDTO> updateOrderItem(@PathVariable("id") String orderItemId,
                                                                    @RequestBody OrderItemRequestDTO requestDTO) {
         // For update, we only update quantity in this example.
+        if (requestDTO.getQuantity() <= 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Quantity must be greater than 0"));
+        }
         OrderItem updateData = new OrderItem(requestDTO.getQuantity());
-        return orderItemService.updateOrderItemAsync(orderItemId, updateData)
-                .thenApply(this::toOrderItemResponseDTO);
+        updateData.setVersion(requestDTO.getVersion());
+        return orderItemService.updateOrderItemAsync(orderItemId, updateData);
+    }
+
+    // Add delta (may be negative) to the quantity in one statement; concurrent changes add up instead of being lost.
+    // With ?version=, answers 409 if the order item changed since that version.
+    @PatchMapping("/{id}/quantity")
+    public CompletableFuture<OrderItemResponseDTO> addOrderItemQuantity(@PathVariable("id") Long orderItemId,
+                                                                        @RequestParam int delta,
+                                                                        @RequestParam(required = false) Long version) {
+        return orderItemService.addOrderItemQuantityAsync(orderItemId, delta, version);
     }
 
     // Delete order item
@@ -142,12 +222,13 @@ public class OrderItemController {
         return orderItemService.deleteOrderItemAsync(orderItemId);
     }
 
-    // Mapper for OrderItem -> OrderItemResponseDTO
-    private OrderItemResponseDTO toOrderItemResponseDTO(OrderItem orderItem) {
+    // Mapper for OrderItem -> OrderItemResponseDTO, package-private for the JMH benchmarks
+    static OrderItemResponseDTO toOrderItemResponseDTO(OrderItem orderItem) {
         OrderItemResponseDTO dto = new OrderItemResponseDTO();
         dto.setId(orderItem.getId());
         dto.setPurchaseDate(orderItem.getPurchaseDate());
         dto.setQuantity(orderItem.getQuantity());
+        dto.setVersion(orderItem.getVersion());
 
         // Map user to UserResponseDTO
         User user = orderItem.getUser();
@@ -155,6 +236,7 @@ public class OrderItemController {
         userDTO.setId(user.getId());
         userDTO.setName(user.getName());
         userDTO.setEmail(user.getEmail());
+        userDTO.setVersion(user.getVersion());
         dto.setUser(userDTO);
 
         // Map product to ProductResponseDTO
@@ -164,6 +246,7 @@ public class OrderItemController {
         productDTO.setName(product.getName());
         productDTO.setDescription(product.getDescription());
         productDTO.setPrice(product.getPrice());
+        productDTO.setVersion(product.getVersion());
         dto.setProduct(productDTO);
 
         return dto;
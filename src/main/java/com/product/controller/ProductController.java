@@ -1,13 +1,28 @@
 package com.product.controller;
 
+import com.product.config.PaginationProperties;
+import com.product.dto.BulkDeleteResultDTO;
+import com.product.dto.DeleteJobDTO;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.dto.ProductImportResultDTO;
 import com.product.dto.ProductRequestDTO;
 import com.product.dto.ProductResponseDTO;
+import com.product.dto.ProductSearchResultDTO;
+import com.product.dto.ProductStatsDTO;
+import com.product.dto.TopProductDTO;
 import com.product.model.Product;
+import com.product.service.DeleteJobService;
+import com.product.service.ProductImportService;
 import com.product.service.ProductService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -21,47 +36,103 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private DeleteJobService deleteJobService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    // Failures reach the exception handler: 404 for an unknown product, 503 when saturated, 504 past the deadline
     @GetMapping("/get-product/{id}")
     public CompletableFuture<Product> getProduct(@PathVariable("id") Long productId) {
-        return productService.fetchProductDetailsAsync(productId)
-                .exceptionally(ex -> {
-                    log.error("Error fetching product: {}", ex.getMessage());
-                    // Fallback: return a default product
-                    Product fallback = new Product();
-                    fallback.setId(productId);
-                    fallback.setName("Fallback Product");
-                    fallback.setDescription("Default description");
-                    fallback.setPrice(249.99);
-                    return fallback;
-                });
-    }
-
-    // Get all products
+        return productService.fetchProductDetailsAsync(productId);
+    }
+
+    // Get one page of products, ordered by id
     @GetMapping
-    public CompletableFuture<List<ProductResponseDTO>> getAllProducts() {
-        return productService.getAllProductsAsync().thenApply(products ->
-                products.stream().map(this::toProductResponseDTO).collect(Collectors.toList())
+    public CompletableFuture<PageResponseDTO<ProductResponseDTO>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return productService.getAllProductsAsync(PageCursor.decode(cursor), pageSize + 1).thenApply(products ->
+                PageResponseDTO.of(products.stream().map(ProductController::toProductResponseDTO).collect(Collectors.toList()),
+                        pageSize, dto -> PageCursor.encode(dto.getId()))
         );
     }
 
     // Get product by ID
     @GetMapping("/{id}")
     public CompletableFuture<ProductResponseDTO> getProductById(@PathVariable("id") String productId) {
-        return productService.getProductByIdAsync(productId).thenApply(this::toProductResponseDTO);
+        return productService.getProductByIdAsync(productId).thenApply(ProductController::toProductResponseDTO);
+    }
+
+    // Products whose name or description match every word of the query (words also match as prefixes), best first
+    @GetMapping("/search")
+    public CompletableFuture<List<ProductSearchResultDTO>> searchProducts(@RequestParam("q") String query,
+                                                                         @RequestParam(defaultValue = "20") int limit) {
+        return productService.searchProductsAsync(query, limit);
+    }
+
+    // Products with the most units ordered recently (app.trending.window), highest first
+    @GetMapping("/top")
+    public CompletableFuture<List<TopProductDTO>> getTopProducts(@RequestParam(defaultValue = "10") int limit) {
+        return productService.getTopProductsAsync(limit);
+    }
+
+    // Sales totals of a product, answered from in-memory counters
+    @GetMapping("/{id}/stats")
+    public ProductStatsDTO getProductStats(@PathVariable("id") Long productId) {
+        return productService.getProductStats(productId);
     }
 
     // Create new product
     @PostMapping
     public CompletableFuture<ProductResponseDTO> createProduct(@RequestBody ProductRequestDTO requestDTO) {
         Product product = new Product(requestDTO.getName(), requestDTO.getDescription(), requestDTO.getPrice());
-        return productService.createProductAsync(product).thenApply(this::toProductResponseDTO);
+        return productService.createProductAsync(product).thenApply(ProductController::toProductResponseDTO);
     }
 
-    // Update product
+    // Update product with one statement; a "version" in the body makes it answer 409 if the product changed since
     @PutMapping("/{id}")
     public CompletableFuture<ProductResponseDTO> updateProduct(@PathVariable("id") String productId, @RequestBody ProductRequestDTO requestDTO) {
         Product updatedProduct = new Product(requestDTO.getName(), requestDTO.getDescription(), requestDTO.getPrice());
-        return productService.updateProductAsync(productId, updatedProduct).thenApply(this::toProductResponseDTO);
+        updatedProduct.setVersion(requestDTO.getVersion());
+        return productService.updateProductAsync(productId, updatedProduct).thenApply(ProductController::toProductResponseDTO);
+    }
+
+    // Import products from a CSV upload (header: name,description,price), read as it arrives and written in chunks.
+    // Runs synchronously so long imports are not cut by the async request timeout.
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ProductImportResultDTO importProductsCsv(InputStream upload) throws IOException {
+        return productImportService.importProducts(upload, ProductImportService.Format.CSV);
+    }
+
+    // Import products from newline-delimited JSON, one {"name","description","price"} object per line
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ProductImportResultDTO importProductsNdjson(InputStream upload) throws IOException {
+        return productImportService.importProducts(upload, ProductImportService.Format.NDJSON);
+    }
+
+    // Delete many products with one statement, their order items are removed by the database cascade
+    @PostMapping("/bulk-delete")
+    public CompletableFuture<BulkDeleteResultDTO> deleteProducts(@RequestBody List<Long> productIds) {
+        return productService.deleteProductsAsync(productIds)
+                .thenApply(deleted -> new BulkDeleteResultDTO(productIds.size(), deleted));
+    }
+
+    // Delete many products in the background, removing their order items in chunks first; poll GET /delete-jobs/{id}
+    @PostMapping(value = "/bulk-delete", params = "async=true")
+    public ResponseEntity<DeleteJobDTO> submitProductsDeleteJob(@RequestBody List<Long> productIds) {
+        return accepted(deleteJobService.submit(DeleteJobService.Target.PRODUCTS, productIds));
+    }
+
+    // Delete a product with very many order items in the background
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<DeleteJobDTO> submitProductDeleteJob(@PathVariable("id") Long productId) {
+        return accepted(deleteJobService.submit(DeleteJobService.Target.PRODUCTS, List.of(productId)));
     }
 
     // Delete product
@@ -70,14 +141,19 @@ public class ProductController {
         return productService.deleteProductAsync(productId);
     }
 
-    // Mapper method for Product to ProductResponseDTO
-    private ProductResponseDTO toProductResponseDTO(Product product) {
+    // Mapper method for Product to ProductResponseDTO, package-private for the JMH benchmarks
+    static ProductResponseDTO toProductResponseDTO(Product product) {
         ProductResponseDTO dto = new ProductResponseDTO();
         dto.setId(product.getId());
         dto.setName(product.getName());
         dto.setDescription(product.getDescription());
         dto.setPrice(product.getPrice());
+        dto.setVersion(product.getVersion());
         return dto;
     }
 
+    private static ResponseEntity<DeleteJobDTO> accepted(DeleteJobDTO job) {
+        return ResponseEntity.accepted().location(URI.create("/delete-jobs/" + job.getId())).body(job);
+    }
+
 }
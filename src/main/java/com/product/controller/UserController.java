@@ -1,13 +1,23 @@
 package com.product.controller;
 
+import com.product.config.PaginationProperties;
+import com.product.dto.BulkDeleteResultDTO;
+import com.product.dto.DeleteJobDTO;
+import com.product.dto.PageCursor;
+import com.product.dto.PageResponseDTO;
+import com.product.dto.UserOrderItemDTO;
 import com.product.dto.UserRequestDTO;
 import com.product.dto.UserResponseDTO;
 import com.product.model.User;
+import com.product.service.DeleteJobService;
+import com.product.service.OrderItemService;
 import com.product.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -20,31 +30,54 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DeleteJobService deleteJobService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     // Asynchronous endpoint to get user details by user ID.
+    // Failures reach the exception handler: 404 for an unknown user, 503 when saturated, 504 past the deadline
     @GetMapping("/{id}")
     public CompletableFuture<UserResponseDTO> getUser(@PathVariable("id") Long userId) {
         return userService.fetchUserDetailsAsync(userId)
-                .exceptionally(ex -> {
-                    log.error("Error fetching user: {}", ex.getMessage());
-                    // Return a fallback user
-                    return new User(userId, "Fallback User", "fallback@example.com");
-                }).thenApply(user -> {
+                .thenApply(user -> {
                     UserResponseDTO dto = new UserResponseDTO();
                     dto.setId(user.getId());
                     dto.setName(user.getName());
                     dto.setEmail(user.getEmail());
+                    dto.setVersion(user.getVersion());
                     return dto;
                 });
     }
 
-    // Get all users
+    // Get one page of users, ordered by id
     @GetMapping
-    public CompletableFuture<List<UserResponseDTO>> getAllUsers() {
-        return userService.getAllUsersAsync().thenApply(users ->
-                users.stream().map(this::toUserResponseDTO).collect(Collectors.toList())
+    public CompletableFuture<PageResponseDTO<UserResponseDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return userService.getAllUsersAsync(PageCursor.decode(cursor), pageSize + 1).thenApply(users ->
+                PageResponseDTO.of(users.stream().map(this::toUserResponseDTO).collect(Collectors.toList()),
+                        pageSize, dto -> PageCursor.encode(dto.getId()))
         );
     }
 
+    // Get one page of the user's order items, newest first
+    @GetMapping("/{id}/order-items")
+    public CompletableFuture<PageResponseDTO<UserOrderItemDTO>> getUserOrderItems(
+            @PathVariable("id") Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        return orderItemService.getUserOrderItemsAsync(userId, PageCursor.decodePosition(cursor), pageSize + 1)
+                .thenApply(orderItems -> PageResponseDTO.of(orderItems, pageSize,
+                        dto -> PageCursor.encode(dto.getPurchaseDate(), dto.getId())));
+    }
+
     // Get user by ID
     @GetMapping("/get-user/{id}")
     public CompletableFuture<UserResponseDTO> getUserById(@PathVariable("id") String userId) {
@@ -58,13 +91,33 @@ public class UserController {
         return userService.createUserAsync(user).thenApply(this::toUserResponseDTO);
     }
 
-    // Update user
+    // Update user; a "version" in the body makes it conditional on that version
     @PutMapping("/{id}")
     public CompletableFuture<UserResponseDTO> updateUser(@PathVariable("id") String userId, @RequestBody UserRequestDTO requestDTO) {
         User updatedUser = new User(requestDTO.getName(), requestDTO.getEmail());
+        updatedUser.setVersion(requestDTO.getVersion());
         return userService.updateUserAsync(userId, updatedUser).thenApply(this::toUserResponseDTO);
     }
 
+    // Delete many users with one statement, their order items are removed by the database cascade
+    @PostMapping("/bulk-delete")
+    public CompletableFuture<BulkDeleteResultDTO> deleteUsers(@RequestBody List<Long> userIds) {
+        return userService.deleteUsersAsync(userIds)
+                .thenApply(deleted -> new BulkDeleteResultDTO(userIds.size(), deleted));
+    }
+
+    // Delete many users in the background, removing their order items in chunks first; poll GET /delete-jobs/{id}
+    @PostMapping(value = "/bulk-delete", params = "async=true")
+    public ResponseEntity<DeleteJobDTO> submitUsersDeleteJob(@RequestBody List<Long> userIds) {
+        return accepted(deleteJobService.submit(DeleteJobService.Target.USERS, userIds));
+    }
+
+    // Delete a user with very many order items in the background
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<DeleteJobDTO> submitUserDeleteJob(@PathVariable("id") Long userId) {
+        return accepted(deleteJobService.submit(DeleteJobService.Target.USERS, List.of(userId)));
+    }
+
     // Delete user
     @DeleteMapping("/{id}")
     public CompletableFuture<Void> deleteUser(@PathVariable("id") String userId) {
@@ -77,7 +130,12 @@ public class UserController {
         dto.setId(user.getId());
         dto.setName(user.getName());
         dto.setEmail(user.getEmail());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
+    private static ResponseEntity<DeleteJobDTO> accepted(DeleteJobDTO job) {
+        return ResponseEntity.accepted().location(URI.create("/delete-jobs/" + job.getId())).body(job);
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.product.deadline;
+
+import com.product.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Point in time by which a request must be answered.
+ * <p>
+ * {@link DeadlineFilter} attaches the deadline of the current request to the request thread, and
+ * {@code AsyncServiceExecutor} carries it over to the worker threads that run the service calls.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+
+    private final long expiresAtNanos;
+
+    private Deadline(Duration timeout) {
+        this.timeout = timeout;
+        this.expiresAtNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(timeout);
+    }
+
+    /**
+     * The deadline attached to the current thread, or {@code null} when there is none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attaches {@code deadline} to the current thread and returns the one it replaces, to be passed to
+     * {@link #restore(Deadline)}.
+     */
+    public static Deadline attach(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    public static void restore(Deadline previous) {
+        attach(previous);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Remaining time rounded up to whole seconds, the granularity of transaction and JDBC query timeouts.
+     */
+    public int remainingSeconds() {
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Fails {@code future} with a {@link DeadlineExceededException} if it is not complete when the deadline expires.
+     * Stages depending on the returned future see this deadline, whichever thread completes {@code future}.
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future, String operation) {
+        if (future.isDone()) {
+            return future;
+        }
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        future.orTimeout(Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS).whenComplete((value, ex) -> {
+            Deadline previous = attach(this);
+            try {
+                if (ex == null) {
+                    bounded.complete(value);
+                    return;
+                }
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                bounded.completeExceptionally(cause instanceof TimeoutException ? exceeded(operation) : ex);
+            } finally {
+                restore(previous);
+            }
+        });
+        return bounded;
+    }
+
+    public DeadlineExceededException exceeded(String operation) {
+        return new DeadlineExceededException("Deadline of " + timeout.toMillis() + " ms exceeded in " + operation);
+    }
+
+}
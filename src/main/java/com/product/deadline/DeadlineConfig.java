@@ -0,0 +1,67 @@
+package com.product.deadline;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the request deadline to controllers returning a {@code CompletableFuture}: the async request
+ * times out when the deadline expires, and the response becomes a {@code DeadlineExceededException} (504)
+ * instead of the default 503. The data source is wrapped in a {@link DeadlineDataSource}, so the queries
+ * of a request are cancelled by the database when its deadline expires.
+ */
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)
+                        ? new DeadlineDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(new DeadlineResultInterceptor());
+    }
+
+    private static class DeadlineResultInterceptor implements DeferredResultProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            Deadline deadline = deadline(request);
+            if (deadline != null && request instanceof AsyncWebRequest asyncWebRequest) {
+                asyncWebRequest.setTimeout(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos())));
+            }
+        }
+
+        @Override
+        public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            Deadline deadline = deadline(request);
+            if (deadline != null) {
+                deferredResult.setErrorResult(deadline.exceeded(request.getDescription(false).replace("uri=", "")));
+            }
+            return true;
+        }
+
+        private static Deadline deadline(NativeWebRequest request) {
+            return (Deadline) request.getAttribute(DeadlineFilter.DEADLINE_ATTRIBUTE, NativeWebRequest.SCOPE_REQUEST);
+        }
+
+    }
+
+}
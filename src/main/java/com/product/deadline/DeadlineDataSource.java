@@ -0,0 +1,76 @@
+package com.product.deadline;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Gives every JDBC statement the remaining time of the {@link Deadline} attached to the thread that creates it
+ * as its query timeout, so the database cancels a statement still running when the deadline expires and the
+ * connection is released. Statements created without a deadline keep the driver default.
+ * <p>
+ * The timeout is set per statement, so calls keep their own transaction boundaries: repository methods still
+ * commit on their own, and writes are not pulled into a transaction they did not ask for.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new QueryTimeoutHandler(connection));
+    }
+
+    private record QueryTimeoutHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+            // createStatement, prepareStatement and prepareCall
+            if (result instanceof Statement statement) {
+                Deadline deadline = Deadline.current();
+                if (deadline != null) {
+                    statement.setQueryTimeout(deadline.remainingSeconds());
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.product.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Starts the deadline of each request and attaches it to the request thread while the handler runs.
+ * The deadline is also stored as a request attribute for {@link DeadlineConfig}, which applies it to
+ * the asynchronous part of the request.
+ */
+@Component
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String DEADLINE_ATTRIBUTE = Deadline.class.getName();
+
+    private final DeadlineProperties properties;
+
+    private final List<EndpointMatcher> endpoints;
+
+    public DeadlineFilter(DeadlineProperties properties) {
+        this.properties = properties;
+        this.endpoints = properties.getEndpoints().stream()
+                .map(endpoint -> new EndpointMatcher(endpoint.getMethod(),
+                        PathPatternParser.defaultInstance.parse(endpoint.getPattern()), endpoint.getTimeout()))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration timeout = properties.isEnabled() ? resolveTimeout(request) : Duration.ZERO;
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Deadline deadline = Deadline.after(timeout);
+        request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        Deadline previous = Deadline.attach(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+
+    private Duration resolveTimeout(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (EndpointMatcher endpoint : endpoints) {
+            if (endpoint.matches(request.getMethod(), path)) {
+                return endpoint.timeout();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+
+    private record EndpointMatcher(String method, PathPattern pattern, Duration timeout) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.isBlank() || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+
+    }
+
+}
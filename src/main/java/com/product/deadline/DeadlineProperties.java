@@ -0,0 +1,41 @@
+package com.product.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-request deadlines. Each request gets the timeout of the first matching endpoint, or the default one.
+ * A zero timeout means no deadline.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+
+        /**
+         * HTTP method to match, any method when empty.
+         */
+        private String method;
+
+        /**
+         * Path pattern, e.g. {@code /order-items/**}.
+         */
+        private String pattern;
+
+        private Duration timeout = Duration.ZERO;
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResultDTO {
+
+    private int requested;
+
+    // Ids that existed and were deleted; unknown ids are ignored
+    private int deleted;
+
+}
@@ -0,0 +1,39 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background user or product delete, returned by {@code GET /delete-jobs/{id}}.
+ */
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeleteJobDTO {
+
+    private String id;
+
+    // USERS or PRODUCTS
+    private String target;
+
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String status;
+
+    private int requested;
+
+    private long deletedOrderItems;
+
+    private int deleted;
+
+    private String error;
+
+    private Instant submittedAt;
+
+    private Instant finishedAt;
+
+}
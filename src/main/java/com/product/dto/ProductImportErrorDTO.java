@@ -0,0 +1,19 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportErrorDTO {
+
+    // Line of the upload where the rejected row starts, the CSV header being line 1
+    private long line;
+
+    private String message;
+
+}
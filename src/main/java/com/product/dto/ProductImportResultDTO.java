@@ -0,0 +1,29 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResultDTO {
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    private long durationMillis;
+
+    private long rowsPerSecond;
+
+    // The first app.product-import.max-reported-errors rejected rows
+    private List<ProductImportErrorDTO> errors;
+
+}
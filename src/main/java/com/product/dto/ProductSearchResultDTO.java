@@ -5,22 +5,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.LocalDateTime;
-
+/**
+ * One hit of {@code GET /products/search}; {@code score} is only meaningful relative to the other hits.
+ */
 @Slf4j
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class OrderItemResponseDTO {
-
-    private Long id;
-
-    private LocalDateTime purchaseDate;
-
-    private int quantity;
-
-    private UserResponseDTO user;
+public class ProductSearchResultDTO {
 
     private ProductResponseDTO product;
 
+    private double score;
+
 }
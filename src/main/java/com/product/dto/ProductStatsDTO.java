@@ -0,0 +1,24 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductStatsDTO {
+
+    private Long productId;
+
+    private long unitsSold;
+
+    private long orderCount;
+
+    private BigDecimal revenue;
+
+}
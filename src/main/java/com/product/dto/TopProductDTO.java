@@ -0,0 +1,24 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One entry of the trending products list. {@code unitsOrdered} is an estimate that may overcount
+ * slightly, never undercount.
+ */
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TopProductDTO {
+
+    private Long productId;
+
+    private String name;
+
+    private long unitsOrdered;
+
+}
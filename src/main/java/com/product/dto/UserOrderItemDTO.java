@@ -0,0 +1,32 @@
+package com.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a user's order history: the order item with the product name and price, without the user
+ * that every entry shares.
+ */
+@Slf4j
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserOrderItemDTO {
+
+    private Long id;
+
+    private LocalDateTime purchaseDate;
+
+    private int quantity;
+
+    private Long productId;
+
+    private String productName;
+
+    private double productPrice;
+
+}
@@ -0,0 +1,17 @@
+package com.product.exception;
+
+/**
+ * DeadlineExceededException is a custom exception used to indicate that a request ran out of time
+ * before its result was available.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
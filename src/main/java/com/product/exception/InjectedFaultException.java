@@ -0,0 +1,12 @@
+package com.product.exception;
+
+/**
+ * InjectedFaultException is thrown by the fault injector to simulate a failing dependency.
+ */
+public class InjectedFaultException extends RuntimeException {
+
+    public InjectedFaultException(String message) {
+        super(message);
+    }
+
+}
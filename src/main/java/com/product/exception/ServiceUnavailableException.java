@@ -0,0 +1,25 @@
+package com.product.exception;
+
+/**
+ * ServiceUnavailableException is a custom exception used to indicate that the service is saturated
+ * and cannot accept more work right now.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException() {
+        super();
+    }
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ServiceUnavailableException(Throwable cause) {
+        super(cause);
+    }
+
+}
@@ -1,52 +0,0 @@
-package com.product.exception.advice;
-import com.product.exception.NotFoundException;
-import com.product.exception.OrderCreateException;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ControllerAdvice;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
-
-import java.time.LocalDateTime;
-
-@ControllerAdvice
-@Slf4j
-public class GlobalExceptionHandler {
-
-    // Catch all exceptions and return a custom error response
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<CustomErrorResponse> handleAllExceptions(Exception ex, WebRequest request) {
-        log.error("Unhandled exception", ex);  // Log full exception
-        CustomErrorResponse errorResponse = new CustomErrorResponse();
-        errorResponse.setTimestamp(LocalDateTime.now());
-        errorResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorResponse.setError("Internal Server Error");
-        errorResponse.setMessage(ex.getMessage());
-        errorResponse.setPath(request.getDescription(false).replace("uri=", ""));
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
-
-    @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<CustomErrorResponse> handleNotFoundException(NotFoundException ex, WebRequest request) {
-        CustomErrorResponse errorResponse = new CustomErrorResponse();
-        errorResponse.setTimestamp(LocalDateTime.now());
-        errorResponse.setStatus(HttpStatus.NOT_FOUND.value());
-        errorResponse.setError("Not Found");
-        errorResponse.setMessage(ex.getMessage());
-        errorResponse.setPath(request.getDescription(false).replace("uri=", ""));
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
-    }
-
-    @ExceptionHandler(OrderCreateException.class)
-    public ResponseEntity<CustomErrorResponse> handleOrderCreateException(OrderCreateException ex, WebRequest request) {
-        CustomErrorResponse errorResponse = new CustomErrorResponse();
-        errorResponse.setTimestamp(LocalDateTime.now());
-        errorResponse.setStatus(HttpStatus.BAD_REQUEST.value());
-        errorResponse.setError("Cannot create Item Order");
-        errorResponse.setMessage(ex.getMessage());
-        errorResponse.setPath(request.getDescription(false).replace("uri=", ""));
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
-    }
-
-}
@@ -0,0 +1,44 @@
+package com.product.exception.advice;
+
+import com.product.exception.DeadlineExceededException;
+import com.product.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The shared error responses of {@link GlobalExceptionHandler}, plus back-pressure and deadline errors of the
+ * asynchronous service calls.
+ */
+@ControllerAdvice
+@Slf4j
+public class WebMvcExceptionHandler extends GlobalExceptionHandler<WebRequest> {
+
+    // Executor saturation is back-pressure: ask the client to retry instead of reporting a server error
+    @ExceptionHandler({ServiceUnavailableException.class, RejectedExecutionException.class})
+    public ResponseEntity<CustomErrorResponse> handleServiceUnavailableException(RuntimeException ex, WebRequest request) {
+        log.warn("Rejecting request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorBody(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex, request));
+    }
+
+    // The request deadline expired before the result was available
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<CustomErrorResponse> handleDeadlineExceededException(DeadlineExceededException ex, WebRequest request) {
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+        return errorResponse(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout", ex, request);
+    }
+
+    @Override
+    protected String path(WebRequest request) {
+        return request.getDescription(false).replace("uri=", "");
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.product.model;
+
+/**
+ * Settings of the shared {@code AP_UNIQUE_ID} sequence used by every entity.
+ * <p>
+ * The sequence increments by {@link #ALLOCATION_SIZE}, so each {@code nextval} reserves a whole block
+ * of ids for the caller. Hibernate hands the block out in memory with the pooled-lo optimizer
+ * ({@code hibernate.id.optimizer.pooled.preferred}): {@code nextval} returns the first id of the block
+ * and the following {@code ALLOCATION_SIZE - 1} ids are used without a round trip. Blocks never overlap,
+ * so several service instances can share the sequence safely.
+ * The value must match the {@code INCREMENT BY} of the sequence in the Flyway migrations.
+ */
+public final class IdAllocation {
+
+    public static final String SEQUENCE_NAME = "AP_UNIQUE_ID";
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+
+}
@@ -10,8 +10,11 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -23,7 +26,7 @@ public class OrderItem {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "AP_UNIQUE_ID")
-    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = "AP_UNIQUE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = IdAllocation.SEQUENCE_NAME, allocationSize = IdAllocation.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
 
     private Long id;
@@ -34,13 +37,24 @@ public class OrderItem {
     @Column(name = "quantity", nullable = false)
     private int quantity;
 
+    // Product price when the item was ordered, which sales revenue is counted with
+    @Column(name = "unit_price", nullable = false)
+    private double unitPrice;
+
+    // Also incremented by the single-statement quantity updates of EntityUpdateRepository
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Many purchases belong to one user.
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Product product;
 
     public OrderItem() {
@@ -58,6 +72,7 @@ public class OrderItem {
                 "id=" + id +
                 ", purchaseDate=" + purchaseDate +
                 ", quantity=" + quantity +
+                ", unitPrice=" + unitPrice +
                 '}';
     }
 }
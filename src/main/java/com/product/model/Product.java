@@ -3,7 +3,6 @@ package com.product.model;
 import java.util.HashSet;
 import java.util.Set;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -24,7 +24,7 @@ public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "AP_UNIQUE_ID")
-    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = "AP_UNIQUE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = IdAllocation.SEQUENCE_NAME, allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -36,7 +36,13 @@ public class Product {
     @Column(name = "price", nullable = false)
     private double price;
 
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Incremented by every update; a write carrying an older version is rejected as a conflict
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Not cascaded: order items are removed by the database (ON DELETE CASCADE) when the product row is deleted
+    @OneToMany(mappedBy = "product")
     private Set<OrderItem> orderItems = new HashSet<>();
 
     public Product() {
@@ -1,6 +1,5 @@
 package com.product.model;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -23,7 +23,7 @@ public class User {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "AP_UNIQUE_ID")
-    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = "AP_UNIQUE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "AP_UNIQUE_ID", sequenceName = IdAllocation.SEQUENCE_NAME, allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -32,7 +32,12 @@ public class User {
     @Column(name = "email", nullable = false)
     private String email;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Not cascaded: order items are removed by the database (ON DELETE CASCADE) when the user row is deleted
+    @OneToMany(mappedBy = "user")
     private Set<OrderItem> orderItems = new HashSet<>();
 
     public User() {}
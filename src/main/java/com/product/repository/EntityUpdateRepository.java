@@ -0,0 +1,174 @@
+package com.product.repository;
+
+import com.product.dto.OrderItemResponseDTO;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Updates users, products and order items with one statement each, without reading the row first.
+ * <p>
+ * Every update increments the {@code version} column, and when the caller passes the version it read, the
+ * row is only changed if it still has that version. The statement returns the written values: PostgreSQL with
+ * {@code UPDATE ... RETURNING}, H2 by selecting from the {@code FINAL TABLE} (or {@code OLD TABLE}) of the
+ * update. An empty result means no row matched: the id is unknown, the version is stale or, for a quantity
+ * delta, the quantity would not stay positive. Callers tell these apart with a read on that path only.
+ */
+@Repository
+public class EntityUpdateRepository {
+
+    /**
+     * Order item as written by a quantity update, with its user and product, the quantity it had before and the
+     * unit price its sales are counted with, all read by the update statement itself.
+     */
+    public record OrderItemQuantityUpdate(OrderItemResponseDTO orderItem, int previousQuantity, double unitPrice) {
+    }
+
+    private static final String UPDATE_PRODUCT =
+            "UPDATE products SET name = ?, description = ?, price = ?, version = version + 1 WHERE id = ?";
+
+    private static final String UPDATE_USER = "UPDATE users SET name = ?, email = ?, version = version + 1 WHERE id = ?";
+
+    // The written order item joined with its user and product, aliased oi, u and p
+    private static final String ORDER_ITEM_RESPONSE_COLUMNS = """
+            oi.id, oi.purchase_date, oi.quantity, oi.version, oi.unit_price,
+            u.id AS user_id, u.name AS user_name, u.email AS user_email, u.version AS user_version,
+            p.id AS product_id, p.name AS product_name, p.description AS product_description,
+            p.price AS product_price, p.version AS product_version""";
+
+    // The new quantity must stay within 1..Integer.MAX_VALUE. The bounds are compared with the current quantity,
+    // computed as BIGINT by the caller, so neither the condition nor the SET can overflow the INTEGER column.
+    private static final String ADD_ORDER_ITEM_QUANTITY_POSTGRESQL = """
+            UPDATE order_items oi SET quantity = oi.quantity + ?, version = oi.version + 1
+            FROM users u, products p
+            WHERE oi.id = ? AND oi.quantity > ? AND oi.quantity <= ? AND u.id = oi.user_id AND p.id = oi.product_id""";
+
+    private static final String ADD_ORDER_ITEM_QUANTITY_H2 = """
+            UPDATE order_items SET quantity = quantity + ?, version = version + 1
+            WHERE id = ? AND quantity > ? AND quantity <= ?""";
+
+    // Locking the row in the subquery makes it read the quantity the update replaces, even under concurrent updates
+    private static final String SET_ORDER_ITEM_QUANTITY_POSTGRESQL = """
+            UPDATE order_items oi SET quantity = ?, version = oi.version + 1
+            FROM (SELECT id, quantity FROM order_items WHERE id = ? FOR UPDATE) previous, users u, products p
+            WHERE oi.id = previous.id AND u.id = oi.user_id AND p.id = oi.product_id""";
+
+    private static final String SET_ORDER_ITEM_QUANTITY_H2 =
+            "UPDATE order_items SET quantity = ?, version = version + 1 WHERE id = ?";
+
+    // The delta table of the H2 update, joined like the PostgreSQL UPDATE ... FROM
+    private static final String JOIN_USER_AND_PRODUCT_H2 =
+            " oi JOIN users u ON u.id = oi.user_id JOIN products p ON p.id = oi.product_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgresql;
+
+    public EntityUpdateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the new version of the product, or empty if no row matched.
+     */
+    public Optional<Long> updateProduct(long id, String name, String description, double price, Long expectedVersion) {
+        return first(jdbcTemplate.query(returning(withVersion(UPDATE_PRODUCT, expectedVersion), "version"),
+                (rs, row) -> rs.getLong("version"), args(expectedVersion, name, description, price, id)));
+    }
+
+    /**
+     * Returns the new version of the user, or empty if no row matched.
+     */
+    public Optional<Long> updateUser(long id, String name, String email, Long expectedVersion) {
+        return first(jdbcTemplate.query(returning(withVersion(UPDATE_USER, expectedVersion), "version"),
+                (rs, row) -> rs.getLong("version"), args(expectedVersion, name, email, id)));
+    }
+
+    /**
+     * Adds {@code delta} to the quantity of the order item, as long as the result stays positive and fits the
+     * {@code INTEGER} column.
+     */
+    public Optional<OrderItemQuantityUpdate> addOrderItemQuantity(long id, int delta, Long expectedVersion) {
+        String sql = isPostgresql()
+                ? withVersion(ADD_ORDER_ITEM_QUANTITY_POSTGRESQL, "oi.version", expectedVersion)
+                        + " RETURNING " + ORDER_ITEM_RESPONSE_COLUMNS
+                : "SELECT " + ORDER_ITEM_RESPONSE_COLUMNS + " FROM FINAL TABLE ("
+                        + withVersion(ADD_ORDER_ITEM_QUANTITY_H2, expectedVersion) + ")" + JOIN_USER_AND_PRODUCT_H2;
+        return first(jdbcTemplate.query(sql, (rs, row) -> new OrderItemQuantityUpdate(toOrderItemResponse(rs,
+                        rs.getInt("quantity"), rs.getLong("version")), rs.getInt("quantity") - delta,
+                        rs.getDouble("unit_price")),
+                args(expectedVersion, delta, id, -(long) delta, Integer.MAX_VALUE - (long) delta)));
+    }
+
+    /**
+     * Sets the quantity of the order item, returning the quantity it replaced.
+     */
+    public Optional<OrderItemQuantityUpdate> setOrderItemQuantity(long id, int quantity, Long expectedVersion) {
+        boolean postgresql = isPostgresql();
+        String sql;
+        if (postgresql) {
+            sql = withVersion(SET_ORDER_ITEM_QUANTITY_POSTGRESQL, "oi.version", expectedVersion)
+                    + " RETURNING " + ORDER_ITEM_RESPONSE_COLUMNS + ", previous.quantity AS previous_quantity";
+        } else {
+            sql = "SELECT " + ORDER_ITEM_RESPONSE_COLUMNS + ", oi.quantity AS previous_quantity FROM OLD TABLE ("
+                    + withVersion(SET_ORDER_ITEM_QUANTITY_H2, expectedVersion) + ")" + JOIN_USER_AND_PRODUCT_H2;
+        }
+        // On H2 the old row plus the increment is the written version
+        return first(jdbcTemplate.query(sql, (rs, row) -> new OrderItemQuantityUpdate(toOrderItemResponse(rs, quantity,
+                        postgresql ? rs.getLong("version") : rs.getLong("version") + 1), rs.getInt("previous_quantity"),
+                        rs.getDouble("unit_price")), args(expectedVersion, quantity, id)));
+    }
+
+    private static OrderItemResponseDTO toOrderItemResponse(ResultSet rs, int quantity, long version) throws SQLException {
+        return new OrderItemResponseDTO(rs.getLong("id"), rs.getTimestamp("purchase_date").toLocalDateTime(), quantity,
+                version, rs.getLong("user_id"), rs.getString("user_name"), rs.getString("user_email"),
+                rs.getLong("user_version"), rs.getLong("product_id"), rs.getString("product_name"),
+                rs.getString("product_description"), rs.getDouble("product_price"), rs.getLong("product_version"));
+    }
+
+    private static String withVersion(String update, Long expectedVersion) {
+        return withVersion(update, "version", expectedVersion);
+    }
+
+    private static String withVersion(String update, String versionColumn, Long expectedVersion) {
+        return expectedVersion != null ? update + " AND " + versionColumn + " = ?" : update;
+    }
+
+    private String returning(String update, String columns) {
+        return isPostgresql()
+                ? update + " RETURNING " + columns
+                : "SELECT " + columns + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    // The statement parameters, followed by the expected version when there is one
+    private static Object[] args(Long expectedVersion, Object... values) {
+        if (expectedVersion == null) {
+            return values;
+        }
+        Object[] args = new Object[values.length + 1];
+        System.arraycopy(values, 0, args, 0, values.length);
+        args[values.length] = expectedVersion;
+        return args;
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private boolean isPostgresql() {
+        Boolean result = postgresql;
+        if (result == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(database);
+            postgresql = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.product.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Deletes the order items of users or products in chunks of bounded size, so a user or product with
+ * millions of order items can be removed in many short transactions instead of one long cascade.
+ */
+@Repository
+public class OrderItemDeleteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderItemDeleteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> findIdsByUserIds(Collection<Long> userIds, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM order_items WHERE user_id IN (%s) LIMIT ?"
+                .formatted(SqlInClause.placeholders(userIds.size())), Long.class, withLimit(userIds, limit));
+    }
+
+    public List<Long> findIdsByProductIds(Collection<Long> productIds, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM order_items WHERE product_id IN (%s) LIMIT ?"
+                .formatted(SqlInClause.placeholders(productIds.size())), Long.class, withLimit(productIds, limit));
+    }
+
+    public int deleteByIds(Collection<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM order_items WHERE id IN (%s)"
+                .formatted(SqlInClause.placeholders(ids.size())), ids.toArray());
+    }
+
+    private static Object[] withLimit(Collection<Long> ids, int limit) {
+        Object[] args = new Object[ids.size() + 1];
+        int i = 0;
+        for (Long id : ids) {
+            args[i++] = id;
+        }
+        args[i] = limit;
+        return args;
+    }
+
+}
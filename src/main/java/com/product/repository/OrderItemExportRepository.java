@@ -0,0 +1,53 @@
+package com.product.repository;
+
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.ProductResponseDTO;
+import com.product.dto.UserResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Reads order items joined with their user and product through a JDBC cursor.
+ * <p>
+ * Rows are handed to the consumer one by one as the driver fetches them in blocks of
+ * {@code app.export.fetch-size}, so memory use does not depend on the table size.
+ * PostgreSQL only uses a server-side cursor inside a transaction, so callers must run
+ * {@link #streamOrderItems(Consumer)} in one.
+ */
+@Repository
+public class OrderItemExportRepository {
+
+    private static final String SELECT_ORDER_ITEMS = """
+            SELECT oi.id, oi.purchase_date, oi.quantity, oi.version,
+                   u.id AS user_id, u.name AS user_name, u.email AS user_email, u.version AS user_version,
+                   p.id AS product_id, p.name AS product_name, p.description AS product_description, p.price AS product_price,
+                   p.version AS product_version
+            FROM order_items oi
+            JOIN users u ON u.id = oi.user_id
+            JOIN products p ON p.id = oi.product_id
+            ORDER BY oi.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderItemExportRepository(DataSource dataSource, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamOrderItems(Consumer<OrderItemResponseDTO> consumer) {
+        jdbcTemplate.query(SELECT_ORDER_ITEMS, rs -> {
+            UserResponseDTO user = new UserResponseDTO(rs.getLong("user_id"), rs.getString("user_name"),
+                    rs.getString("user_email"), rs.getLong("user_version"));
+            ProductResponseDTO product = new ProductResponseDTO(rs.getLong("product_id"), rs.getString("product_name"),
+                    rs.getString("product_description"), rs.getDouble("product_price"), rs.getLong("product_version"));
+            consumer.accept(new OrderItemResponseDTO(rs.getLong("id"), rs.getTimestamp("purchase_date").toLocalDateTime(),
+                    rs.getInt("quantity"), rs.getLong("version"), user, product));
+        });
+    }
+
+}
@@ -1,14 +1,71 @@
 package com.product.repository;
 
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.UserOrderItemDTO;
 import com.product.model.OrderItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderItemRepository extends CrudRepository<OrderItem, Long> {
 
-    @Query("SELECT p FROM OrderItem p")
-    List<OrderItem> findOrderItems();
+    @Query("""
+            SELECT new com.product.dto.OrderItemResponseDTO(oi.id, oi.purchaseDate, oi.quantity, oi.version,
+                   u.id, u.name, u.email, u.version, p.id, p.name, p.description, p.price, p.version)
+            FROM OrderItem oi JOIN oi.user u JOIN oi.product p
+            WHERE oi.id > :afterId
+            ORDER BY oi.id""")
+    List<OrderItemResponseDTO> findOrderItemResponsesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // The bounds on purchaseDate let PostgreSQL skip the monthly partitions outside [from, to)
+    @Query("""
+            SELECT new com.product.dto.OrderItemResponseDTO(oi.id, oi.purchaseDate, oi.quantity, oi.version,
+                   u.id, u.name, u.email, u.version, p.id, p.name, p.description, p.price, p.version)
+            FROM OrderItem oi JOIN oi.user u JOIN oi.product p
+            WHERE oi.purchaseDate >= :from AND oi.purchaseDate < :to
+              AND (oi.purchaseDate > :afterDate OR (oi.purchaseDate = :afterDate AND oi.id > :afterId))
+            ORDER BY oi.purchaseDate, oi.id""")
+    List<OrderItemResponseDTO> findOrderItemResponsesBetween(@Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to,
+                                                             @Param("afterDate") LocalDateTime afterDate,
+                                                             @Param("afterId") long afterId,
+                                                             Limit limit);
+
+    // Order history of a user, newest first. Both queries walk idx_order_items_user_history and join only
+    // the products of the page; the second one continues after the last (purchaseDate, id) of the previous page.
+    @Query("""
+            SELECT new com.product.dto.UserOrderItemDTO(oi.id, oi.purchaseDate, oi.quantity, p.id, p.name, p.price)
+            FROM OrderItem oi JOIN oi.product p
+            WHERE oi.user.id = :userId
+            ORDER BY oi.purchaseDate DESC, oi.id""")
+    List<UserOrderItemDTO> findUserOrderItems(@Param("userId") long userId, Limit limit);
+
+    @Query("""
+            SELECT new com.product.dto.UserOrderItemDTO(oi.id, oi.purchaseDate, oi.quantity, p.id, p.name, p.price)
+            FROM OrderItem oi JOIN oi.product p
+            WHERE oi.user.id = :userId
+              AND (oi.purchaseDate < :beforeDate OR (oi.purchaseDate = :beforeDate AND oi.id > :afterId))
+            ORDER BY oi.purchaseDate DESC, oi.id""")
+    List<UserOrderItemDTO> findUserOrderItemsAfter(@Param("userId") long userId,
+                                                   @Param("beforeDate") LocalDateTime beforeDate,
+                                                   @Param("afterId") long afterId,
+                                                   Limit limit);
+
+    @Query("""
+            SELECT new com.product.dto.OrderItemResponseDTO(oi.id, oi.purchaseDate, oi.quantity, oi.version,
+                   u.id, u.name, u.email, u.version, p.id, p.name, p.description, p.price, p.version)
+            FROM OrderItem oi JOIN oi.user u JOIN oi.product p
+            WHERE oi.id = :id""")
+    Optional<OrderItemResponseDTO> findOrderItemResponseById(@Param("id") long id);
+
+    // Loads the user and product in the same query, so the result can be mapped outside a transaction
+    @EntityGraph(attributePaths = {"user", "product"})
+    Optional<OrderItem> findWithUserAndProductById(Long id);
 
 }
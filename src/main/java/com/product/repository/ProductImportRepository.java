@@ -0,0 +1,121 @@
+package com.product.repository;
+
+import com.product.model.IdAllocation;
+import com.product.model.Product;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes imported products in chunks, bypassing JPA.
+ * <p>
+ * Ids are reserved from {@code AP_UNIQUE_ID} with one query per chunk, in the same blocks of
+ * {@link IdAllocation#ALLOCATION_SIZE} Hibernate uses, so imported and saved products never collide.
+ * On PostgreSQL the rows are sent with {@code COPY ... FROM STDIN} through the driver's {@code CopyManager};
+ * other databases (H2) get one batched {@code INSERT}. Callers run each chunk in a transaction.
+ */
+@Repository
+public class ProductImportRepository {
+
+    private static final String COPY_PRODUCTS = "COPY products (id, name, description, price) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, name, description, price) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean copySupported;
+
+    public ProductImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Assigns new ids to the products and writes them.
+     */
+    public void insert(List<Product> products) {
+        List<Long> ids = allocateIds(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setId(ids.get(i));
+        }
+        if (isCopySupported()) {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                    copy(connection.unwrap(PGConnection.class), products));
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, products.size(), (statement, product) -> {
+                statement.setLong(1, product.getId());
+                statement.setString(2, product.getName());
+                statement.setString(3, product.getDescription());
+                statement.setBigDecimal(4, BigDecimal.valueOf(product.getPrice()));
+            });
+        }
+    }
+
+    // Each nextval reserves a block of ALLOCATION_SIZE ids starting at the returned value (pooled-lo)
+    private List<Long> allocateIds(int count) {
+        int blocks = (count + IdAllocation.ALLOCATION_SIZE - 1) / IdAllocation.ALLOCATION_SIZE;
+        String sql = isCopySupported()
+                ? "SELECT nextval('" + IdAllocation.SEQUENCE_NAME + "') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR " + IdAllocation.SEQUENCE_NAME + " FROM SYSTEM_RANGE(1, ?)";
+        List<Long> starts = jdbcTemplate.queryForList(sql, Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long start : starts) {
+            for (int i = 0; i < IdAllocation.ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(start + i);
+            }
+        }
+        return ids;
+    }
+
+    // Streams the rows to the server as CSV, one row at a time
+    private static long copy(PGConnection connection, List<Product> products) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(COPY_PRODUCTS);
+        try {
+            StringBuilder row = new StringBuilder();
+            for (Product product : products) {
+                row.setLength(0);
+                row.append(product.getId()).append(',');
+                appendQuoted(row, product.getName()).append(',');
+                appendQuoted(row, product.getDescription()).append(',');
+                row.append(BigDecimal.valueOf(product.getPrice()).toPlainString()).append('\n');
+                byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder row, String value) {
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+
+    private boolean isCopySupported() {
+        Boolean result = copySupported;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.isWrapperFor(PGConnection.class));
+            copySupported = result;
+        }
+        return result;
+    }
+
+}
@@ -1,14 +1,23 @@
 package com.product.repository;
 
 import com.product.model.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepository extends CrudRepository<Product, Long> {
 
-    @Query("SELECT p FROM Product p")
-    List<Product> findProducts();
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findProductsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // One DELETE statement, the database removes the order items by cascade; must run in a transaction
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 
 }
@@ -0,0 +1,118 @@
+package com.product.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and updates {@code product_sales_summary}. Revenue is exchanged in cents so the in-memory
+ * counters can use integer accumulators, and is aggregated from the {@code unit_price} stored on each
+ * order item, like the counters add it.
+ */
+@Repository
+public class ProductSalesSummaryRepository {
+
+    private static final RowMapper<ProductSalesRow> ROW_MAPPER = (rs, rowNum) -> new ProductSalesRow(
+            rs.getLong("product_id"), rs.getLong("units_sold"), rs.getLong("order_count"),
+            toCents(rs.getBigDecimal("revenue")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSalesSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record ProductSalesRow(long productId, long unitsSold, long orderCount, long revenueCents) {
+    }
+
+    public List<ProductSalesRow> findAll() {
+        return jdbcTemplate.query("SELECT product_id, units_sold, order_count, revenue FROM product_sales_summary", ROW_MAPPER);
+    }
+
+    public List<ProductSalesRow> aggregateOrderItems() {
+        return jdbcTemplate.query("""
+                SELECT oi.product_id, SUM(oi.quantity) AS units_sold, COUNT(*) AS order_count,
+                       SUM(oi.quantity * oi.unit_price) AS revenue
+                FROM order_items oi
+                GROUP BY oi.product_id
+                """, ROW_MAPPER);
+    }
+
+    /**
+     * Locks the users and their order items until the end of the transaction. New order items of the users
+     * wait on the user row lock (the foreign key check), and quantity changes wait on the order item locks.
+     */
+    public void lockOrderItemsOfUsers(Collection<Long> userIds) {
+        String placeholders = SqlInClause.placeholders(userIds.size());
+        jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (%s) FOR UPDATE".formatted(placeholders),
+                Long.class, userIds.toArray());
+        jdbcTemplate.queryForList("SELECT id FROM order_items WHERE user_id IN (%s) FOR UPDATE".formatted(placeholders),
+                Long.class, userIds.toArray());
+    }
+
+    public List<ProductSalesRow> aggregateOrderItemsOfUsers(Collection<Long> userIds) {
+        return jdbcTemplate.query("""
+                SELECT oi.product_id, SUM(oi.quantity) AS units_sold, COUNT(*) AS order_count,
+                       SUM(oi.quantity * oi.unit_price) AS revenue
+                FROM order_items oi
+                WHERE oi.user_id IN (%s)
+                GROUP BY oi.product_id
+                """.formatted(SqlInClause.placeholders(userIds.size())), ROW_MAPPER, userIds.toArray());
+    }
+
+    public List<ProductSalesRow> aggregateOrderItemsByIds(Collection<Long> orderItemIds) {
+        return jdbcTemplate.query("""
+                SELECT oi.product_id, SUM(oi.quantity) AS units_sold, COUNT(*) AS order_count,
+                       SUM(oi.quantity * oi.unit_price) AS revenue
+                FROM order_items oi
+                WHERE oi.id IN (%s)
+                GROUP BY oi.product_id
+                """.formatted(SqlInClause.placeholders(orderItemIds.size())), ROW_MAPPER, orderItemIds.toArray());
+    }
+
+    /**
+     * Adds the deltas to the summary rows, creating missing rows for products that still exist.
+     */
+    @Transactional
+    public void addAll(List<ProductSalesRow> deltas) {
+        int[] updated = jdbcTemplate.batchUpdate("""
+                UPDATE product_sales_summary
+                SET units_sold = units_sold + ?, order_count = order_count + ?, revenue = revenue + ?,
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE product_id = ?
+                """, deltas.stream()
+                .map(delta -> new Object[]{delta.unitsSold(), delta.orderCount(), toRevenue(delta.revenueCents()), delta.productId()})
+                .toList());
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                ProductSalesRow delta = deltas.get(i);
+                inserts.add(new Object[]{delta.productId(), delta.unitsSold(), delta.orderCount(),
+                        toRevenue(delta.revenueCents()), delta.productId()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            // A product deleted since the delta was recorded has no row to create
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO product_sales_summary (product_id, units_sold, order_count, revenue)
+                    SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM products WHERE id = ?)
+                    """, inserts);
+        }
+    }
+
+    private static long toCents(BigDecimal revenue) {
+        return revenue == null ? 0 : revenue.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal toRevenue(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.product.repository;
+
+import java.util.Collections;
+
+/**
+ * Builds the parameter list of SQL {@code IN} predicates for plain JDBC queries.
+ */
+final class SqlInClause {
+
+    private SqlInClause() {
+    }
+
+    /**
+     * Returns {@code count} comma separated {@code ?} placeholders; {@code count} must be positive.
+     */
+    static String placeholders(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("IN clause needs at least one value");
+        }
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+}
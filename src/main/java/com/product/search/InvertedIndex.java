@@ -0,0 +1,522 @@
+package com.product.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over documents with a name and a description, ranked by TF-IDF.
+ * <p>
+ * Text is lowercased and split into runs of letters and digits. Every term maps to its postings: the
+ * ids of the documents containing it, sorted, with a weight of {@code nameBoost * tf(name) + tf(description)}
+ * divided by the square root of the document length. Postings are immutable blocks replaced on write, so
+ * searches run without locks against a consistent view of each term; writes are synchronized and copy only
+ * the blocks they touch.
+ * <p>
+ * All query terms must match (AND). A query term of at least {@code minPrefixLength} characters also
+ * matches the indexed terms it is a prefix of, up to {@code maxPrefixExpansions} of them in lexicographic
+ * order, at {@link #PREFIX_FACTOR} of the weight of an exact match. A document scores the sum over query
+ * terms of {@code weight * idf}, with {@code idf = ln(1 + N / df)}. Matching starts from the query term
+ * with the fewest postings; the other terms are looked up by seeking forward in their postings.
+ */
+public class InvertedIndex {
+
+    static final double PREFIX_FACTOR = 0.7;
+
+    public record Document(long id, String name, String description) {
+    }
+
+    public record Hit(long id, double score) {
+    }
+
+    private final double nameBoost;
+
+    private final int minPrefixLength;
+
+    private final int maxPrefixExpansions;
+
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, String[]> documentTerms = new ConcurrentHashMap<>();
+
+    public InvertedIndex(double nameBoost, int minPrefixLength, int maxPrefixExpansions) {
+        if (nameBoost <= 0 || minPrefixLength < 1 || maxPrefixExpansions < 0) {
+            throw new IllegalArgumentException("Name boost and minimum prefix length must be positive, expansions not negative");
+        }
+        this.nameBoost = nameBoost;
+        this.minPrefixLength = minPrefixLength;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    public void put(Document document) {
+        putAll(List.of(document));
+    }
+
+    /**
+     * Adds or replaces the documents; postings of every term are copied once per call, so loading in
+     * batches is much cheaper than one document at a time.
+     */
+    public synchronized void putAll(List<Document> documents) {
+        // The last version of a document wins when it appears more than once
+        Map<Long, Document> latest = new LinkedHashMap<>();
+        documents.forEach(document -> latest.put(document.id(), document));
+        Map<String, List<Posting>> added = new HashMap<>();
+        for (Document document : latest.values()) {
+            removeTerms(document.id());
+            Map<String, Double> weights = weigh(document);
+            if (weights.isEmpty()) {
+                continue;
+            }
+            documentTerms.put(document.id(), weights.keySet().toArray(String[]::new));
+            weights.forEach((term, weight) ->
+                    added.computeIfAbsent(term, t -> new ArrayList<>()).add(new Posting(document.id(), weight.floatValue())));
+        }
+        added.forEach((term, entries) -> {
+            entries.sort(Comparator.comparingLong(Posting::id));
+            postings.put(term, postings.getOrDefault(term, Postings.EMPTY).merge(entries));
+        });
+    }
+
+    public synchronized void remove(long id) {
+        removeTerms(id);
+    }
+
+    public int size() {
+        return documentTerms.size();
+    }
+
+    /**
+     * Returns the {@code limit} best matching documents, highest score first, ties broken by id.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int documents = Math.max(1, documentTerms.size());
+        List<List<Match>> matchesPerTerm = new ArrayList<>();
+        for (String queryTerm : queryTerms) {
+            List<Match> matches = matches(queryTerm, documents);
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            matchesPerTerm.add(matches);
+        }
+        matchesPerTerm.sort(Comparator.comparingLong(InvertedIndex::postingCount));
+
+        Candidates candidates = union(matchesPerTerm.get(0));
+        for (int i = 1; i < matchesPerTerm.size() && candidates.size > 0; i++) {
+            candidates = candidates.retain(matchesPerTerm.get(i));
+        }
+        return top(candidates, limit);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Double> weigh(Document document) {
+        List<String> nameTokens = tokenize(document.name());
+        List<String> descriptionTokens = tokenize(document.description());
+        Map<String, Double> weights = new LinkedHashMap<>();
+        nameTokens.forEach(term -> weights.merge(term, nameBoost, Double::sum));
+        descriptionTokens.forEach(term -> weights.merge(term, 1.0, Double::sum));
+        double norm = Math.sqrt(nameTokens.size() + descriptionTokens.size());
+        weights.replaceAll((term, weight) -> weight / norm);
+        return weights;
+    }
+
+    private void removeTerms(long id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings remaining = postings.get(term).without(id);
+            if (remaining.size == 0) {
+                postings.remove(term);
+            } else {
+                postings.put(term, remaining);
+            }
+        }
+    }
+
+    private List<Match> matches(String queryTerm, int documents) {
+        List<Match> matches = new ArrayList<>();
+        Postings exact = postings.get(queryTerm);
+        if (exact != null) {
+            matches.add(new Match(exact, idf(exact, documents)));
+        }
+        if (queryTerm.length() >= minPrefixLength && maxPrefixExpansions > 0) {
+            NavigableMap<String, Postings> prefixed = postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false);
+            int expansions = 0;
+            for (Postings expansion : prefixed.values()) {
+                if (expansions++ == maxPrefixExpansions) {
+                    break;
+                }
+                matches.add(new Match(expansion, PREFIX_FACTOR * idf(expansion, documents)));
+            }
+        }
+        return matches;
+    }
+
+    private static double idf(Postings termPostings, int documents) {
+        return Math.log(1.0 + (double) documents / termPostings.size);
+    }
+
+    private static long postingCount(List<Match> matches) {
+        long count = 0;
+        for (Match match : matches) {
+            count += match.postings.size;
+        }
+        return count;
+    }
+
+    // Documents matching any of the expansions of one query term, sorted by id. The expansions are merged
+    // pairwise in rounds, which keeps the inner loops on plain arrays instead of a heap of cursors.
+    private static Candidates union(List<Match> matches) {
+        List<Candidates> round = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            round.add(Candidates.of(match));
+        }
+        while (round.size() > 1) {
+            List<Candidates> next = new ArrayList<>((round.size() + 1) / 2);
+            for (int i = 0; i + 1 < round.size(); i += 2) {
+                next.add(round.get(i).or(round.get(i + 1)));
+            }
+            if (round.size() % 2 == 1) {
+                next.add(round.get(round.size() - 1));
+            }
+            round = next;
+        }
+        return round.get(0);
+    }
+
+    private static List<Hit> top(Candidates candidates, int limit) {
+        Comparator<Hit> byRank = Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id);
+        PriorityQueue<Hit> best = new PriorityQueue<>(byRank.reversed());
+        for (int i = 0; i < candidates.size; i++) {
+            if (best.size() < limit) {
+                best.add(new Hit(candidates.ids[i], candidates.scores[i]));
+            } else if (candidates.scores[i] > best.peek().score()) {
+                // Ids ascend, so an equal score never outranks the kept hit
+                best.poll();
+                best.add(new Hit(candidates.ids[i], candidates.scores[i]));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(byRank);
+        return hits;
+    }
+
+    private record Posting(long id, float weight) {
+    }
+
+    private record Match(Postings postings, double factor) {
+    }
+
+    /**
+     * Postings of one term, split into blocks of up to {@link #MAX_BLOCK_SIZE} ids in ascending order. A
+     * write copies the blocks it changes and the block array, and shares the others with the previous
+     * version, so updating a term found in every document does not copy all of its postings.
+     */
+    private static final class Postings {
+
+        private static final int BLOCK_SIZE = 1024;
+
+        private static final int MAX_BLOCK_SIZE = 2 * BLOCK_SIZE;
+
+        private static final Postings EMPTY = new Postings(new Block[0]);
+
+        private final Block[] blocks;
+
+        // First id of every block, to find the block of an id by binary search
+        private final long[] firstIds;
+
+        private final int size;
+
+        private Postings(Block[] blocks) {
+            this.blocks = blocks;
+            this.firstIds = new long[blocks.length];
+            int count = 0;
+            for (int b = 0; b < blocks.length; b++) {
+                firstIds[b] = blocks[b].ids[0];
+                count += blocks[b].ids.length;
+            }
+            this.size = count;
+        }
+
+        // Merges entries sorted by id whose ids are not in these postings yet
+        private Postings merge(List<Posting> entries) {
+            List<Block> merged = new ArrayList<>(blocks.length + 1);
+            int from = 0;
+            for (int b = 0; b < blocks.length; b++) {
+                long nextFirstId = b + 1 < blocks.length ? firstIds[b + 1] : Long.MAX_VALUE;
+                int to = from;
+                while (to < entries.size() && entries.get(to).id() < nextFirstId) {
+                    to++;
+                }
+                if (to == from) {
+                    merged.add(blocks[b]);
+                } else {
+                    blocks[b].mergeInto(entries.subList(from, to), merged);
+                    from = to;
+                }
+            }
+            if (from < entries.size()) {
+                Block.EMPTY.mergeInto(entries.subList(from, entries.size()), merged);
+            }
+            return new Postings(merged.toArray(Block[]::new));
+        }
+
+        private Postings without(long id) {
+            int b = blockOf(id, 0);
+            if (b < 0) {
+                return this;
+            }
+            Block remaining = blocks[b].without(id);
+            if (remaining == blocks[b]) {
+                return this;
+            }
+            List<Block> kept = new ArrayList<>(Arrays.asList(blocks));
+            if (remaining.ids.length == 0) {
+                kept.remove(b);
+            } else {
+                kept.set(b, remaining);
+            }
+            return new Postings(kept.toArray(Block[]::new));
+        }
+
+        // Last block at or after from whose first id is not above id, or -1
+        private int blockOf(long id, int from) {
+            int index = Arrays.binarySearch(firstIds, from, firstIds.length, id);
+            return index >= 0 ? index : -index - 2;
+        }
+
+    }
+
+    private static final class Block {
+
+        private static final Block EMPTY = new Block(new long[0], new float[0]);
+
+        private final long[] ids;
+
+        private final float[] weights;
+
+        private Block(long[] ids, float[] weights) {
+            this.ids = ids;
+            this.weights = weights;
+        }
+
+        // Adds the blocks holding these ids and the entries, split when they outgrow MAX_BLOCK_SIZE
+        private void mergeInto(List<Posting> entries, List<Block> target) {
+            long[] mergedIds = new long[ids.length + entries.size()];
+            float[] mergedWeights = new float[mergedIds.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < ids.length || j < entries.size()) {
+                if (j == entries.size() || (i < ids.length && ids[i] < entries.get(j).id())) {
+                    mergedIds[k] = ids[i];
+                    mergedWeights[k++] = weights[i++];
+                } else {
+                    mergedIds[k] = entries.get(j).id();
+                    mergedWeights[k++] = entries.get(j++).weight();
+                }
+            }
+            if (mergedIds.length <= Postings.MAX_BLOCK_SIZE) {
+                target.add(new Block(mergedIds, mergedWeights));
+                return;
+            }
+            for (int start = 0; start < mergedIds.length; start += Postings.BLOCK_SIZE) {
+                int end = Math.min(start + Postings.BLOCK_SIZE, mergedIds.length);
+                target.add(new Block(Arrays.copyOfRange(mergedIds, start, end), Arrays.copyOfRange(mergedWeights, start, end)));
+            }
+        }
+
+        private Block without(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            long[] remainingIds = new long[ids.length - 1];
+            float[] remainingWeights = new float[remainingIds.length];
+            System.arraycopy(ids, 0, remainingIds, 0, index);
+            System.arraycopy(weights, 0, remainingWeights, 0, index);
+            System.arraycopy(ids, index + 1, remainingIds, index, ids.length - index - 1);
+            System.arraycopy(weights, index + 1, remainingWeights, index, ids.length - index - 1);
+            return new Block(remainingIds, remainingWeights);
+        }
+
+    }
+
+    // Forward iterator over the postings of a match
+    private static final class Cursor {
+
+        private final Match match;
+
+        private final Block[] blocks;
+
+        private int block;
+
+        private int offset;
+
+        private Cursor(Match match) {
+            this.match = match;
+            this.blocks = match.postings.blocks;
+        }
+
+        private boolean exhausted() {
+            return block >= blocks.length;
+        }
+
+        private long id() {
+            return blocks[block].ids[offset];
+        }
+
+        private float weight() {
+            return blocks[block].weights[offset];
+        }
+
+        private void next() {
+            if (++offset == blocks[block].ids.length) {
+                block++;
+                offset = 0;
+            }
+        }
+
+        // Moves to the first id not below target
+        private void seek(long target) {
+            if (exhausted() || id() >= target) {
+                return;
+            }
+            Block current = blocks[block];
+            if (current.ids[current.ids.length - 1] < target) {
+                block = Math.max(block + 1, match.postings.blockOf(target, block + 1));
+                offset = 0;
+                if (exhausted()) {
+                    return;
+                }
+                current = blocks[block];
+                if (current.ids[current.ids.length - 1] < target) {
+                    // Target falls between this block and the next one
+                    block++;
+                    return;
+                }
+            }
+            int index = Arrays.binarySearch(current.ids, offset, current.ids.length, target);
+            offset = index >= 0 ? index : -index - 1;
+        }
+
+    }
+
+    private static final class Candidates {
+
+        private final long[] ids;
+
+        private final double[] scores;
+
+        private final int size;
+
+        private Candidates(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        private static Candidates of(Match match) {
+            long[] ids = new long[match.postings.size];
+            double[] scores = new double[ids.length];
+            int size = 0;
+            for (Block block : match.postings.blocks) {
+                System.arraycopy(block.ids, 0, ids, size, block.ids.length);
+                for (int i = 0; i < block.weights.length; i++) {
+                    scores[size + i] = block.weights[i] * match.factor;
+                }
+                size += block.ids.length;
+            }
+            return new Candidates(ids, scores, size);
+        }
+
+        // Documents in either set; a document in both gets the sum of its scores
+        private Candidates or(Candidates other) {
+            long[] mergedIds = new long[size + other.size];
+            double[] mergedScores = new double[mergedIds.length];
+            int i = 0;
+            int j = 0;
+            int merged = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    mergedIds[merged] = ids[i];
+                    mergedScores[merged++] = scores[i++];
+                } else if (ids[i] > other.ids[j]) {
+                    mergedIds[merged] = other.ids[j];
+                    mergedScores[merged++] = other.scores[j++];
+                } else {
+                    mergedIds[merged] = ids[i];
+                    mergedScores[merged++] = scores[i++] + other.scores[j++];
+                }
+            }
+            for (; i < size; i++, merged++) {
+                mergedIds[merged] = ids[i];
+                mergedScores[merged] = scores[i];
+            }
+            for (; j < other.size; j++, merged++) {
+                mergedIds[merged] = other.ids[j];
+                mergedScores[merged] = other.scores[j];
+            }
+            return new Candidates(mergedIds, mergedScores, merged);
+        }
+
+        // Keeps the candidates matching one of the expansions of another query term, adding their scores.
+        // Candidates and postings are both sorted by id, so each expansion is walked forward once.
+        private Candidates retain(List<Match> matches) {
+            long[] keptIds = new long[size];
+            double[] keptScores = new double[size];
+            List<Cursor> cursors = matches.stream().map(Cursor::new).toList();
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                double score = 0;
+                boolean found = false;
+                for (Cursor cursor : cursors) {
+                    cursor.seek(ids[i]);
+                    if (!cursor.exhausted() && cursor.id() == ids[i]) {
+                        score += cursor.weight() * cursor.match.factor;
+                        found = true;
+                    }
+                }
+                if (found) {
+                    keptIds[kept] = ids[i];
+                    keptScores[kept++] = scores[i] + score;
+                }
+            }
+            return new Candidates(keptIds, keptScores, kept);
+        }
+
+    }
+
+}
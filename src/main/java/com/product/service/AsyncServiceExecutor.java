@@ -0,0 +1,189 @@
+package com.product.service;
+
+import com.product.chaos.FaultInjector;
+import com.product.concurrent.AdaptiveConcurrencyLimiter;
+import com.product.deadline.Deadline;
+import com.product.deadline.DeadlineDataSource;
+import com.product.deadline.DeadlineProperties;
+import com.product.exception.DeadlineExceededException;
+import com.product.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking service calls on the {@code taskExecutor}.
+ * <p>
+ * Every repository call is submitted exactly once to the bounded executor, and the returned future
+ * is completed on that same thread. When the executor refuses the task, the future fails with a
+ * {@link ServiceUnavailableException} instead of propagating the raw {@link RejectedExecutionException}.
+ * <p>
+ * Each call is measured: {@code service.call} times it from submission to completion, tagged with the
+ * operation and its outcome, {@code executor.task.wait} records how long it waited for a thread, and
+ * {@code executor.task.rejected} counts the calls refused by the executor.
+ * <p>
+ * Calls pass through the {@link FaultInjector} first, so latency and errors can be injected per operation name.
+ * <p>
+ * The {@link Deadline} of the submitting thread follows the call: the returned future fails with a
+ * {@link DeadlineExceededException} when it expires, a call still queued at that point is not run, and the
+ * statements of a running call get the remaining time as their query timeout from the {@link DeadlineDataSource},
+ * which releases the connection of a stalled statement. Calls whose result is shared by several requests go
+ * through {@link #supplyShared(String, Supplier)} instead, so no single request's deadline decides for the others.
+ * <p>
+ * When an {@link AdaptiveConcurrencyLimiter} is configured, a call is only submitted if the limiter admits
+ * it; otherwise it fails right away with a {@link ServiceUnavailableException} and is counted in
+ * {@code service.limiter.rejected}. The latency of every admitted call adjusts the limit.
+ */
+@Component
+@Slf4j
+public class AsyncServiceExecutor {
+
+    private final Executor taskExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final FaultInjector faultInjector;
+
+    private final DeadlineProperties deadlineProperties;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final Timer waitTimer;
+
+    private final Counter rejectedCounter;
+
+    private final Counter shedCounter;
+
+    private final ConcurrentMap<String, Timer> callTimers = new ConcurrentHashMap<>();
+
+    public AsyncServiceExecutor(@Qualifier("taskExecutor") Executor taskExecutor, MeterRegistry meterRegistry,
+                                FaultInjector faultInjector, DeadlineProperties deadlineProperties,
+                                ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.faultInjector = faultInjector;
+        this.deadlineProperties = deadlineProperties;
+        this.limiter = limiter.getIfAvailable();
+        this.waitTimer = Timer.builder("executor.task.wait")
+                .description("Time service calls wait in the task executor before running")
+                .tag("name", "taskExecutor")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("executor.task.rejected")
+                .description("Service calls rejected because the task executor was saturated")
+                .tag("name", "taskExecutor")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("service.limiter.rejected")
+                .description("Service calls shed because the adaptive concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> supply(String operation, Supplier<T> call) {
+        return supply(operation, Deadline.current(), call);
+    }
+
+    /**
+     * Runs a call whose result several callers share, such as a coalesced or batched lookup. It gets its own
+     * deadline of {@code app.deadline.default-timeout} instead of the one of the submitting thread, which may
+     * belong to any of the callers or to none; each caller bounds its own copy of the result with its deadline.
+     */
+    public <T> CompletableFuture<T> supplyShared(String operation, Supplier<T> call) {
+        Duration timeout = deadlineProperties.getDefaultTimeout();
+        boolean bounded = deadlineProperties.isEnabled() && timeout != null && timeout.isPositive();
+        return supply(operation, bounded ? Deadline.after(timeout) : null, call);
+    }
+
+    public CompletableFuture<Void> run(String operation, Runnable call) {
+        return supply(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> supply(String operation, Deadline deadline, Supplier<T> call) {
+        CompletableFuture<T> future = faultInjector.around(operation, () -> submit(operation, deadline, call));
+        return deadline != null ? deadline.bound(future, operation) : future;
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Deadline deadline, Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        if (limiter != null && !limiter.tryAcquire()) {
+            shedCounter.increment();
+            callTimer(operation, "rejected").record(0, TimeUnit.NANOSECONDS);
+            future.completeExceptionally(new ServiceUnavailableException(
+                    "Concurrency limit of " + limiter.getLimit() + " reached, cannot run " + operation));
+            return future;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                if (deadline != null && deadline.isExpired()) {
+                    releaseDropped();
+                    callTimer(operation, "expired").record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    future.completeExceptionally(deadline.exceeded(operation));
+                    return;
+                }
+                // Statements of the call get their query timeout from the deadline, and dependent stages run on
+                // this thread when the future completes, so they see it too
+                Deadline previous = Deadline.attach(deadline);
+                try {
+                    T result;
+                    try {
+                        result = call.get();
+                    } finally {
+                        release(submitted);
+                    }
+                    callTimer(operation, "success").record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    future.complete(result);
+                } catch (Throwable ex) {
+                    callTimer(operation, "error").record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    future.completeExceptionally(ex);
+                } finally {
+                    Deadline.restore(previous);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Task executor saturated, rejecting {}", operation);
+            rejectedCounter.increment();
+            releaseDropped();
+            callTimer(operation, "rejected").record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            future.completeExceptionally(new ServiceUnavailableException("Service is busy, cannot run " + operation, ex));
+        }
+        return future;
+    }
+
+    private void release(long submitted) {
+        if (limiter != null) {
+            limiter.release(System.nanoTime() - submitted);
+        }
+    }
+
+    private void releaseDropped() {
+        if (limiter != null) {
+            limiter.releaseDropped();
+        }
+    }
+
+    private Timer callTimer(String operation, String outcome) {
+        return callTimers.computeIfAbsent(operation + '|' + outcome, key -> Timer.builder("service.call")
+                .description("Latency of async service calls, from submission to completion")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.product.service;
+
+import com.product.config.BulkDeleteProperties;
+import com.product.dto.DeleteJobDTO;
+import com.product.exception.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes users or products with very many order items in the background. The order items are removed
+ * first, {@code app.bulk-delete.chunk-size} per transaction, so no single transaction holds locks on
+ * millions of rows or runs into the request deadline; the users or products are deleted last.
+ * <p>
+ * Jobs run one at a time on a dedicated thread, outside the service executor and its concurrency limit.
+ * A failed job can be resubmitted: the chunks already committed stay deleted.
+ */
+@Service
+@Slf4j
+public class DeleteJobService {
+
+    public enum Target {USERS, PRODUCTS}
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private BulkDeleteProperties properties;
+
+    private final ExecutorService jobExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("delete-job").factory());
+
+    private final Map<String, DeleteJob> jobs = new ConcurrentHashMap<>();
+
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+
+    public DeleteJobDTO submit(Target target, List<Long> ids) {
+        DeleteJob job = new DeleteJob(UUID.randomUUID().toString(), target, properties.distinctIds(ids));
+        jobs.put(job.id, job);
+        jobExecutor.execute(() -> run(job));
+        log.info("Queued delete job {} for {} {}", job.id, job.ids.size(), target);
+        return job.toDTO();
+    }
+
+    public DeleteJobDTO getJob(String jobId) {
+        DeleteJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Delete job " + jobId + " not found");
+        }
+        return job.toDTO();
+    }
+
+    private void run(DeleteJob job) {
+        job.status = "RUNNING";
+        try {
+            int chunk;
+            do {
+                chunk = job.target == Target.USERS
+                        ? orderItemService.deleteOrderItemsOfUsers(job.ids, properties.getChunkSize())
+                        : orderItemService.deleteOrderItemsOfProducts(job.ids, properties.getChunkSize());
+                job.deletedOrderItems.addAndGet(chunk);
+            } while (chunk > 0);
+            // Order items created meanwhile are still removed by the cascade
+            job.deleted = job.target == Target.USERS
+                    ? userService.deleteUsers(job.ids)
+                    : productService.deleteProducts(job.ids);
+            job.status = "COMPLETED";
+            log.info("Delete job {} removed {} {} and {} order items", job.id, job.deleted, job.target,
+                    job.deletedOrderItems.get());
+        } catch (RuntimeException ex) {
+            job.error = ex.getMessage();
+            job.status = "FAILED";
+            log.error("Delete job {} failed after {} order items: {}", job.id, job.deletedOrderItems.get(), ex.getMessage());
+        } finally {
+            job.finishedAt = Instant.now();
+            retire(job.id);
+        }
+    }
+
+    // Keeps the status of the last app.bulk-delete.retained-jobs finished jobs
+    private void retire(String jobId) {
+        finishedJobs.add(jobId);
+        while (finishedJobs.size() > properties.getRetainedJobs()) {
+            String oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private static final class DeleteJob {
+
+        private final String id;
+
+        private final Target target;
+
+        private final List<Long> ids;
+
+        private final Instant submittedAt = Instant.now();
+
+        private final AtomicLong deletedOrderItems = new AtomicLong();
+
+        private volatile String status = "QUEUED";
+
+        private volatile int deleted;
+
+        private volatile String error;
+
+        private volatile Instant finishedAt;
+
+        private DeleteJob(String id, Target target, List<Long> ids) {
+            this.id = id;
+            this.target = target;
+            this.ids = ids;
+        }
+
+        private DeleteJobDTO toDTO() {
+            return new DeleteJobDTO(id, target.name(), status, ids.size(), deletedOrderItems.get(), deleted, error,
+                    submittedAt, finishedAt);
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.product.service;
+
+import com.product.model.OrderItem;
+
+/**
+ * Result of one entry of a batch create: either the persisted order item or the reason it was rejected.
+ */
+public record OrderItemBatchOutcome(int index, OrderItem orderItem, String error) {
+
+    public static OrderItemBatchOutcome created(int index, OrderItem orderItem) {
+        return new OrderItemBatchOutcome(index, orderItem, null);
+    }
+
+    public static OrderItemBatchOutcome rejected(int index, String error) {
+        return new OrderItemBatchOutcome(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return orderItem != null;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.product.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.repository.OrderItemExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@Slf4j
+public class OrderItemExportService {
+
+    @Autowired
+    private OrderItemExportRepository orderItemExportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every order item as newline-delimited JSON, one row at a time as it is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrderItems(OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            orderItemExportRepository.streamOrderItems(orderItem -> {
+                try {
+                    generator.writeObject(orderItem);
+                    generator.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException ex) {
+                    // Client went away: abort the query instead of reading the rest of the table
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+        log.info("Exported {} order items", rows[0]);
+        return rows[0];
+    }
+
+}
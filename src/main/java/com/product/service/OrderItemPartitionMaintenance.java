@@ -0,0 +1,59 @@
+package com.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of {@code order_items} created {@code app.partitioning.months-ahead} months in
+ * advance, so new orders never fall into the default partition. Runs at startup and then every
+ * {@code app.partitioning.check-interval}; does nothing on databases without partitioning (H2).
+ */
+@Component
+@Slf4j
+public class OrderItemPartitionMaintenance {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitioning.months-ahead:12}")
+    private int monthsAhead;
+
+    private volatile Boolean partitioned;
+
+    @Scheduled(fixedDelayString = "${app.partitioning.check-interval:12h}")
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        try {
+            Integer created = jdbcTemplate.queryForObject("SELECT ensure_order_items_partitions(?, ?)", Integer.class,
+                    Date.valueOf(LocalDate.now().withDayOfMonth(1)), monthsAhead + 1);
+            if (created != null && created > 0) {
+                log.info("Created {} order_items partitions", created);
+            }
+        } catch (RuntimeException ex) {
+            // The next run retries; until then orders past the last partition go to the default partition
+            log.error("Failed to create order_items partitions: {}", ex.getMessage());
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(database);
+            partitioned = result;
+        }
+        return result;
+    }
+
+}
@@ -1,60 +1,283 @@
 package com.product.service;
 
+import com.product.dto.OrderItemRequestDTO;
+import com.product.dto.OrderItemResponseDTO;
+import com.product.dto.PageCursor;
+import com.product.dto.UserOrderItemDTO;
+import com.product.exception.NotFoundException;
+import com.product.exception.VersionConflictException;
 import com.product.model.OrderItem;
+import com.product.model.Product;
+import com.product.model.User;
+import com.product.repository.EntityUpdateRepository;
+import com.product.repository.OrderItemDeleteRepository;
 import com.product.repository.OrderItemRepository;
+import com.product.repository.ProductRepository;
+import com.product.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
+@Slf4j
 public class OrderItemService {
 
     @Autowired
     private OrderItemRepository orderItemRepository;
 
-    public OrderItem saveOrderItem(OrderItem orderItem) {
-        return orderItemRepository.save(orderItem);
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AsyncServiceExecutor asyncServiceExecutor;
+
+    @Autowired
+    private OrderItemDeleteRepository orderItemDeleteRepository;
+
+    @Autowired
+    private EntityUpdateRepository entityUpdateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductSalesCounters productSalesCounters;
+
+    @Autowired
+    private TrendingProducts trendingProducts;
+
+    @Value("${app.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Loads up to limit order items with an id greater than afterId, in id order,
+    // together with their user and product in a single joined query
+    public CompletableFuture<List<OrderItemResponseDTO>> getAllOrderItemsAsync(long afterId, int limit) {
+        return asyncServiceExecutor.supply("orderItem.findPage",
+                () -> orderItemRepository.findOrderItemResponsesAfter(afterId, Limit.of(limit)));
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<List<OrderItem>> getAllOrderItemsAsync() {
-        return CompletableFuture.supplyAsync(() -> orderItemRepository.findOrderItems());
+    // Loads up to limit order items purchased in [from, to) after the given position, in
+    // purchase date then id order
+    public CompletableFuture<List<OrderItemResponseDTO>> getOrderItemsBetweenAsync(LocalDateTime from, LocalDateTime to,
+                                                                                  PageCursor.DatePosition after, int limit) {
+        return asyncServiceExecutor.supply("orderItem.findRange", () -> orderItemRepository.findOrderItemResponsesBetween(
+                from, to, after.purchaseDate(), after.id(), Limit.of(limit)));
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<OrderItem> getOrderItemByIdAsync(String orderItemId) {
-        return CompletableFuture.supplyAsync(() -> orderItemRepository.findById(Long.valueOf(orderItemId))
-                .orElseThrow(() -> new RuntimeException("OrderItem not found")));
+    // Loads up to limit order items of a user, newest first, after the given position (null
+    // for the first page). An empty first page is told apart from an unknown user with one more lookup.
+    public CompletableFuture<List<UserOrderItemDTO>> getUserOrderItemsAsync(long userId, PageCursor.DatePosition after,
+                                                                            int limit) {
+        return asyncServiceExecutor.supply("orderItem.findByUser", () -> {
+            if (after != null) {
+                return orderItemRepository.findUserOrderItemsAfter(userId, after.purchaseDate(), after.id(), Limit.of(limit));
+            }
+            List<UserOrderItemDTO> page = orderItemRepository.findUserOrderItems(userId, Limit.of(limit));
+            if (page.isEmpty() && !userRepository.existsById(userId)) {
+                throw new NotFoundException("User with ID " + userId + " not found");
+            }
+            return page;
+        });
+    }
+
+    public CompletableFuture<OrderItemResponseDTO> getOrderItemByIdAsync(String orderItemId) {
+        return asyncServiceExecutor.supply("orderItem.findById", () ->
+                orderItemRepository.findOrderItemResponseById(Long.parseLong(orderItemId))
+                        .orElseThrow(() -> new NotFoundException("OrderItem with ID " + orderItemId + " not found")));
     }
 
-    @Async("taskExecutor")
     public CompletableFuture<OrderItem> createOrderItemAsync(OrderItem orderItem) {
-        return CompletableFuture.supplyAsync(() -> createOrderItem(orderItem));
+        return asyncServiceExecutor.supply("orderItem.create", () -> createOrderItem(orderItem));
     }
 
-    @Transactional
     public OrderItem createOrderItem(OrderItem orderItem) {
-        // The transaction is active here, so Hibernate can perform lazy loading or saving
-        return orderItemRepository.save(orderItem);
+        // Repository save runs in its own transaction on the executor thread
+        orderItem.setUnitPrice(orderItem.getProduct().getPrice());
+        OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        productSalesCounters.recordOrder(orderItem.getProduct().getId(), orderItem.getQuantity(), orderItem.getUnitPrice());
+        trendingProducts.recordOrder(orderItem.getProduct().getId(), orderItem.getQuantity());
+        return savedOrderItem;
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<OrderItem> updateOrderItemAsync(String orderItemId, OrderItem updatedOrderItem) {
-        return CompletableFuture.supplyAsync(() -> {
-            OrderItem existingOrderItem = orderItemRepository.findById(Long.valueOf(orderItemId))
-                    .orElseThrow(() -> new RuntimeException("OrderItem not found"));
-            existingOrderItem.setQuantity(updatedOrderItem.getQuantity());
-            return orderItemRepository.save(existingOrderItem);
-        });
+    /**
+     * Creates all valid entries of the batch in one transaction. Users and products are resolved with
+     * one IN query each, and the inserts are sent with JDBC statement batching when the transaction
+     * flushes. Entries with a bad id, an unknown user or product, or a non-positive quantity are
+     * reported as rejected and do not prevent the others from being created.
+     */
+    public CompletableFuture<List<OrderItemBatchOutcome>> createOrderItemsBatchAsync(List<OrderItemRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Batch must contain at least one order item"));
+        }
+        if (requests.size() > maxBatchSize) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Batch must not contain more than " + maxBatchSize + " order items"));
+        }
+        return asyncServiceExecutor.supply("orderItem.createBatch",
+                () -> transactionTemplate.execute(status -> createOrderItemsBatch(requests)));
+    }
+
+    private List<OrderItemBatchOutcome> createOrderItemsBatch(List<OrderItemRequestDTO> requests) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (OrderItemRequestDTO request : requests) {
+            parseId(request.getUserId()).ifPresent(userIds::add);
+            parseId(request.getProductId()).ifPresent(productIds::add);
+        }
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(productIds).forEach(product -> products.put(product.getId(), product));
+
+        OrderItemBatchOutcome[] outcomes = new OrderItemBatchOutcome[requests.size()];
+        List<OrderItem> orderItems = new ArrayList<>();
+        List<Integer> orderItemIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderItemRequestDTO request = requests.get(i);
+            Optional<Long> userId = parseId(request.getUserId());
+            Optional<Long> productId = parseId(request.getProductId());
+            if (userId.isEmpty()) {
+                outcomes[i] = OrderItemBatchOutcome.rejected(i, "Invalid user ID: " + request.getUserId());
+            } else if (productId.isEmpty()) {
+                outcomes[i] = OrderItemBatchOutcome.rejected(i, "Invalid product ID: " + request.getProductId());
+            } else if (request.getQuantity() <= 0) {
+                outcomes[i] = OrderItemBatchOutcome.rejected(i, "Quantity must be greater than 0");
+            } else if (!users.containsKey(userId.get())) {
+                outcomes[i] = OrderItemBatchOutcome.rejected(i, "User with ID " + userId.get() + " not found");
+            } else if (!products.containsKey(productId.get())) {
+                outcomes[i] = OrderItemBatchOutcome.rejected(i, "Product with ID " + productId.get() + " not found");
+            } else {
+                OrderItem orderItem = new OrderItem(request.getQuantity());
+                orderItem.setUser(users.get(userId.get()));
+                orderItem.setProduct(products.get(productId.get()));
+                orderItem.setUnitPrice(products.get(productId.get()).getPrice());
+                orderItems.add(orderItem);
+                orderItemIndexes.add(i);
+            }
+        }
+
+        orderItemRepository.saveAll(orderItems);
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem orderItem = orderItems.get(i);
+            outcomes[orderItemIndexes.get(i)] = OrderItemBatchOutcome.created(orderItemIndexes.get(i), orderItem);
+            productSalesCounters.recordOrder(orderItem.getProduct().getId(), orderItem.getQuantity(), orderItem.getUnitPrice());
+            trendingProducts.recordOrder(orderItem.getProduct().getId(), orderItem.getQuantity());
+        }
+        log.info("Batch of {} order items: {} created, {} rejected", requests.size(), orderItems.size(),
+                requests.size() - orderItems.size());
+        return Arrays.asList(outcomes);
+    }
+
+    private static Optional<Long> parseId(String id) {
+        if (id == null || id.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(id.trim()));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    // Sets the quantity with one UPDATE that also returns the quantity it replaced, for the sales counters.
+    // With a version in updatedOrderItem, a concurrent change makes it fail with 409.
+    public CompletableFuture<OrderItemResponseDTO> updateOrderItemAsync(String orderItemId, OrderItem updatedOrderItem) {
+        long id = Long.parseLong(orderItemId);
+        Long expectedVersion = updatedOrderItem.getVersion();
+        return asyncServiceExecutor.supply("orderItem.update", () -> recordQuantityUpdate(entityUpdateRepository
+                .setOrderItemQuantity(id, updatedOrderItem.getQuantity(), expectedVersion)
+                .orElseThrow(() -> quantityUpdateFailure(id, expectedVersion, 0))));
+    }
+
+    /**
+     * Adds {@code delta} to the quantity in a single {@code UPDATE ... SET quantity = quantity + ?}, so concurrent
+     * changes add up instead of overwriting each other. Fails if the quantity would drop to zero or below or exceed
+     * {@link Integer#MAX_VALUE}, or, when {@code expectedVersion} is given, if the order item has another version.
+     */
+    public CompletableFuture<OrderItemResponseDTO> addOrderItemQuantityAsync(long id, int delta, Long expectedVersion) {
+        return asyncServiceExecutor.supply("orderItem.addQuantity", () -> recordQuantityUpdate(entityUpdateRepository
+                .addOrderItemQuantity(id, delta, expectedVersion)
+                .orElseThrow(() -> quantityUpdateFailure(id, expectedVersion, delta))));
+    }
+
+    // Only read after an update matched no row, to report why
+    private RuntimeException quantityUpdateFailure(long id, Long expectedVersion, int delta) {
+        OrderItem current = orderItemRepository.findById(id).orElse(null);
+        if (current == null) {
+            return new NotFoundException("OrderItem with ID " + id + " not found");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return new VersionConflictException("OrderItem", id, expectedVersion, current.getVersion());
+        }
+        if ((long) current.getQuantity() + delta <= 0) {
+            return new IllegalArgumentException("Quantity must stay greater than 0, it is " + current.getQuantity());
+        }
+        if ((long) current.getQuantity() + delta > Integer.MAX_VALUE) {
+            return new IllegalArgumentException("Quantity must not exceed " + Integer.MAX_VALUE + ", it is "
+                    + current.getQuantity());
+        }
+        // Changed between the update and this read
+        return new VersionConflictException("OrderItem with ID " + id + " was changed concurrently");
+    }
+
+    // Counts the change in the call that made it, at the unit price the update returned. The response comes from
+    // the same statement, so nothing can fail once the update is committed.
+    private OrderItemResponseDTO recordQuantityUpdate(EntityUpdateRepository.OrderItemQuantityUpdate update) {
+        OrderItemResponseDTO orderItem = update.orderItem();
+        productSalesCounters.recordQuantityChange(orderItem.getProduct().getId(),
+                orderItem.getQuantity() - update.previousQuantity(), update.unitPrice());
+        return orderItem;
     }
 
-    @Async("taskExecutor")
     public CompletableFuture<Void> deleteOrderItemAsync(String orderItemId) {
-        return CompletableFuture.runAsync(() -> orderItemRepository.deleteById(Long.valueOf(orderItemId)));
+        // Loaded first so the sales counters know which product and quantity go away
+        return asyncServiceExecutor.run("orderItem.delete", () ->
+                orderItemRepository.findWithUserAndProductById(Long.valueOf(orderItemId)).ifPresent(orderItem -> {
+                    orderItemRepository.delete(orderItem);
+                    productSalesCounters.recordOrderRemoved(orderItem.getProduct().getId(), orderItem.getQuantity(),
+                            orderItem.getUnitPrice());
+                }));
+    }
+
+    // Deletes up to limit order items of the given users in one transaction, returning how many went away
+    public int deleteOrderItemsOfUsers(Collection<Long> userIds, int limit) {
+        return deleteOrderItemChunk(() -> orderItemDeleteRepository.findIdsByUserIds(userIds, limit));
+    }
+
+    // Deletes up to limit order items of the given products in one transaction, returning how many went away
+    public int deleteOrderItemsOfProducts(Collection<Long> productIds, int limit) {
+        return deleteOrderItemChunk(() -> orderItemDeleteRepository.findIdsByProductIds(productIds, limit));
     }
+
+    private int deleteOrderItemChunk(Supplier<List<Long>> chunk) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> ids = chunk.get();
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            productSalesCounters.recordOrderItemsDeleted(ids);
+            return orderItemDeleteRepository.deleteByIds(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
 }
@@ -0,0 +1,295 @@
+package com.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.model.Product;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads products from a CSV or NDJSON upload one row at a time, through a fixed size buffer.
+ * <p>
+ * CSV uploads start with a header naming the {@code name}, {@code description} (optional) and {@code price}
+ * columns in any order; fields follow RFC 4180 quoting, so they may contain commas, quotes and line breaks.
+ * NDJSON uploads hold one object with the same properties per line. Rows that cannot be read or fail
+ * validation are returned with an error instead of a product, so the import can go on with the next row.
+ */
+final class ProductImportReader {
+
+    // products.name is VARCHAR(255) and products.price NUMERIC(10, 2)
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    record Row(long line, Product product, String error) {
+    }
+
+    private record Fields(long line, List<String> values, String error) {
+    }
+
+    private final Reader in;
+
+    private final ProductImportService.Format format;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxRowLength;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    private long line = 1;
+
+    private boolean started;
+
+    private final StringBuilder value = new StringBuilder();
+
+    private int nameColumn = -1;
+
+    private int descriptionColumn = -1;
+
+    private int priceColumn = -1;
+
+    private int columns;
+
+    ProductImportReader(Reader in, ProductImportService.Format format, ObjectMapper objectMapper, int maxRowLength) {
+        this.in = in;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.maxRowLength = maxRowLength;
+    }
+
+    /**
+     * Returns the next non-blank row, or {@code null} at the end of the upload.
+     *
+     * @throws IllegalArgumentException if the CSV header is missing a required column or names an unknown one
+     */
+    Row next() throws IOException {
+        if (!started) {
+            started = true;
+            skipByteOrderMark();
+            if (format == ProductImportService.Format.CSV) {
+                readHeader();
+            }
+        }
+        return format == ProductImportService.Format.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    private void readHeader() throws IOException {
+        Fields header = readCsvFields();
+        if (header == null) {
+            return;
+        }
+        if (header.error() != null) {
+            throw new IllegalArgumentException("Invalid CSV header: " + header.error());
+        }
+        columns = header.values().size();
+        for (int i = 0; i < columns; i++) {
+            switch (header.values().get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "price" -> priceColumn = i;
+                default -> throw new IllegalArgumentException("Unknown CSV column: " + header.values().get(i));
+            }
+        }
+        if (nameColumn < 0 || priceColumn < 0) {
+            throw new IllegalArgumentException("CSV header must name the name and price columns");
+        }
+    }
+
+    private Row nextCsvRow() throws IOException {
+        Fields fields;
+        do {
+            fields = readCsvFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.error() == null && fields.values().size() == 1 && fields.values().get(0).isEmpty());
+        if (fields.error() != null) {
+            return new Row(fields.line(), null, fields.error());
+        }
+        List<String> values = fields.values();
+        if (values.size() != columns) {
+            return new Row(fields.line(), null, "Expected " + columns + " fields, found " + values.size());
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(values.get(priceColumn).trim());
+        } catch (NumberFormatException ex) {
+            return new Row(fields.line(), null, "Price is not a number: " + values.get(priceColumn));
+        }
+        return toRow(fields.line(), values.get(nameColumn),
+                descriptionColumn >= 0 ? values.get(descriptionColumn) : null, price);
+    }
+
+    private Row nextJsonRow() throws IOException {
+        Fields fields;
+        do {
+            fields = readLine();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.error() == null && fields.values().get(0).isBlank());
+        if (fields.error() != null) {
+            return new Row(fields.line(), null, fields.error());
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(fields.values().get(0));
+        } catch (JsonProcessingException ex) {
+            return new Row(fields.line(), null, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return new Row(fields.line(), null, "Row must be a JSON object");
+        }
+        JsonNode name = node.path("name");
+        JsonNode description = node.path("description");
+        JsonNode price = node.path("price");
+        if (!name.isMissingNode() && !name.isNull() && !name.isTextual()) {
+            return new Row(fields.line(), null, "Name must be a string");
+        }
+        if (!description.isMissingNode() && !description.isNull() && !description.isTextual()) {
+            return new Row(fields.line(), null, "Description must be a string");
+        }
+        if (!price.isNumber()) {
+            return new Row(fields.line(), null, price.isMissingNode() || price.isNull()
+                    ? "Price is required" : "Price must be a number");
+        }
+        return toRow(fields.line(), name.textValue(), description.textValue(), price.decimalValue());
+    }
+
+    private static Row toRow(long line, String name, String description, BigDecimal price) {
+        if (name == null || name.isBlank()) {
+            return new Row(line, null, "Name is required");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return new Row(line, null, "Name must not be longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (price.signum() < 0 || price.compareTo(MAX_PRICE) > 0) {
+            return new Row(line, null, "Price must be between 0 and " + MAX_PRICE);
+        }
+        return new Row(line, new Product(name, description != null ? description : "", price.doubleValue()), null);
+    }
+
+    // One CSV record, which spans several lines when a quoted field contains line breaks
+    private Fields readCsvFields() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        long start = line;
+        List<String> values = new ArrayList<>();
+        value.setLength(0);
+        int length = 0;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (c >= 0) {
+            if (inQuotes) {
+                if (c == '"' && peek() == '"') {
+                    read();
+                    length = append('"', length);
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    length = append((char) c, length);
+                }
+            } else if (c == '"' && !quoted && value.isEmpty()) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r') {
+                endLine(c);
+                break;
+            } else {
+                length = append((char) c, length);
+            }
+            c = read();
+        }
+        values.add(value.toString());
+        if (inQuotes) {
+            return new Fields(start, values, "Unterminated quoted field");
+        }
+        if (length > maxRowLength) {
+            return new Fields(start, values, "Row is longer than " + maxRowLength + " characters");
+        }
+        return new Fields(start, values, null);
+    }
+
+    private Fields readLine() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        long start = line;
+        value.setLength(0);
+        int length = 0;
+        while (c >= 0 && c != '\n' && c != '\r') {
+            length = append((char) c, length);
+            c = read();
+        }
+        if (c >= 0) {
+            endLine(c);
+        }
+        if (length > maxRowLength) {
+            return new Fields(start, List.of(), "Row is longer than " + maxRowLength + " characters");
+        }
+        return new Fields(start, List.of(value.toString()), null);
+    }
+
+    // Counts every character but stops buffering past maxRowLength, so an oversized row costs no memory
+    private int append(char c, int length) {
+        if (length < maxRowLength) {
+            value.append(c);
+        }
+        return length + 1;
+    }
+
+    private void endLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        line++;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (peek() == '\uFEFF') {
+            read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c >= 0) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            position = 0;
+            limit = read;
+        }
+        return buffer[position];
+    }
+
+}
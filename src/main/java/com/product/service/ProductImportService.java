@@ -0,0 +1,96 @@
+package com.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.product.config.ProductImportProperties;
+import com.product.dto.ProductImportErrorDTO;
+import com.product.dto.ProductImportResultDTO;
+import com.product.model.Product;
+import com.product.repository.ProductImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ProductImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    @Autowired
+    private ProductImportRepository productImportRepository;
+
+    @Autowired
+    private ProductSearch productSearch;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductImportProperties properties;
+
+    /**
+     * Reads products from a UTF-8 upload as it arrives and writes the valid ones in chunks of
+     * {@code app.product-import.chunk-size}, each in its own transaction. Invalid rows are skipped and reported.
+     * If writing a chunk fails, the chunks written before it stay imported.
+     */
+    public ProductImportResultDTO importProducts(InputStream upload, Format format) throws IOException {
+        long started = System.nanoTime();
+        Reader in = new InputStreamReader(upload, StandardCharsets.UTF_8);
+        ProductImportReader reader = new ProductImportReader(in, format, objectMapper, properties.getMaxRowLength());
+        List<Product> chunk = new ArrayList<>(properties.getChunkSize());
+        List<ProductImportErrorDTO> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsImported = 0;
+        ProductImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rowsRead++;
+            if (row.error() != null) {
+                if (errors.size() < properties.getMaxReportedErrors()) {
+                    errors.add(new ProductImportErrorDTO(row.line(), row.error()));
+                }
+                continue;
+            }
+            chunk.add(row.product());
+            if (chunk.size() == properties.getChunkSize()) {
+                rowsImported += writeChunk(chunk);
+            }
+        }
+        rowsImported += writeChunk(chunk);
+
+        long durationNanos = Math.max(1, System.nanoTime() - started);
+        long rowsPerSecond = rowsImported * 1_000_000_000L / durationNanos;
+        log.info("Imported {} of {} products from {} in {} ms ({} rows/s)", rowsImported, rowsRead, format,
+                durationNanos / 1_000_000, rowsPerSecond);
+        return new ProductImportResultDTO(rowsRead, rowsImported, rowsRead - rowsImported, durationNanos / 1_000_000,
+                rowsPerSecond, errors);
+    }
+
+    private int writeChunk(List<Product> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Product> products = List.copyOf(chunk);
+        chunk.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            productImportRepository.insert(products);
+            productSearch.recordImported(products);
+        });
+        return products.size();
+    }
+
+}
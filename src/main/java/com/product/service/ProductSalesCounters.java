@@ -0,0 +1,224 @@
+package com.product.service;
+
+import com.product.config.SalesStatsProperties;
+import com.product.dto.ProductStatsDTO;
+import com.product.repository.ProductSalesSummaryRepository;
+import com.product.repository.ProductSalesSummaryRepository.ProductSalesRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-product sales totals (units sold, number of orders, revenue at the unit price of each order item) kept in
+ * memory and updated on every order item create, update and delete, so {@code GET /products/{id}/stats}
+ * never queries the database.
+ * <p>
+ * Each counter is a {@link LongAdder}, which stripes concurrent increments over cells instead of
+ * contending on one value. Next to the totals, every product accumulates pending deltas that are written
+ * to {@code product_sales_summary} every {@code app.sales-stats.flush-interval}; {@code sumThenReset}
+ * hands each increment to exactly one flush. On startup the totals are rebuilt from the summary table,
+ * or from {@code order_items} (see {@link SalesStatsProperties.RebuildSource}).
+ * <p>
+ * Changes made inside a transaction are applied after it commits, so rolled back orders are not counted.
+ */
+@Component
+@Slf4j
+public class ProductSalesCounters {
+
+    @Autowired
+    private ProductSalesSummaryRepository summaryRepository;
+
+    @Autowired
+    private SalesStatsProperties properties;
+
+    private final ConcurrentMap<Long, ProductSales> sales = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void rebuild() {
+        List<ProductSalesRow> summary = summaryRepository.findAll();
+        if (properties.getRebuildFrom() == SalesStatsProperties.RebuildSource.SUMMARY) {
+            summary.forEach(row -> sales(row.productId()).addTotals(row));
+            log.info("Loaded sales counters of {} products from product_sales_summary", summary.size());
+            return;
+        }
+        // Totals come from order_items; the difference to the summary table is flushed as a delta
+        Map<Long, ProductSalesRow> flushed = new HashMap<>();
+        summary.forEach(row -> flushed.put(row.productId(), row));
+        for (ProductSalesRow row : summaryRepository.aggregateOrderItems()) {
+            ProductSalesRow previous = flushed.remove(row.productId());
+            sales(row.productId()).addTotals(row);
+            if (previous != null) {
+                add(row.productId(), row.unitsSold() - previous.unitsSold(), row.orderCount() - previous.orderCount(),
+                        row.revenueCents() - previous.revenueCents(), false);
+            } else {
+                add(row.productId(), row.unitsSold(), row.orderCount(), row.revenueCents(), false);
+            }
+        }
+        flushed.values().forEach(row ->
+                add(row.productId(), -row.unitsSold(), -row.orderCount(), -row.revenueCents(), false));
+        log.info("Rebuilt sales counters of {} products from order_items", sales.size());
+    }
+
+    // The unit price is the one stored on the order item, so adding and removing it cancel out
+    public void recordOrder(Long productId, int quantity, double unitPrice) {
+        TransactionCallbacks.afterCommit(() -> add(productId, quantity, 1, cents(unitPrice) * quantity, true));
+    }
+
+    public void recordQuantityChange(Long productId, int quantityDelta, double unitPrice) {
+        if (quantityDelta != 0) {
+            TransactionCallbacks.afterCommit(() -> add(productId, quantityDelta, 0, cents(unitPrice) * quantityDelta, true));
+        }
+    }
+
+    public void recordOrderRemoved(Long productId, int quantity, double unitPrice) {
+        TransactionCallbacks.afterCommit(() -> add(productId, -quantity, -1, -cents(unitPrice) * quantity, true));
+    }
+
+    /**
+     * Subtracts the order items of users about to be deleted, which the database removes by cascade.
+     * Must be called before the delete, in the same transaction. The users and their order items stay locked
+     * until the delete commits, so no order item can be added or changed between the aggregate and the delete.
+     */
+    public void recordUsersDeleted(Collection<Long> userIds) {
+        summaryRepository.lockOrderItemsOfUsers(userIds);
+        subtractAfterCommit(summaryRepository.aggregateOrderItemsOfUsers(userIds));
+    }
+
+    /**
+     * Subtracts order items about to be deleted in bulk. Must be called before the delete, in the same transaction.
+     */
+    public void recordOrderItemsDeleted(Collection<Long> orderItemIds) {
+        subtractAfterCommit(summaryRepository.aggregateOrderItemsByIds(orderItemIds));
+    }
+
+    // The summary row goes away with the product (ON DELETE CASCADE)
+    public void recordProductDeleted(Long productId) {
+        TransactionCallbacks.afterCommit(() -> {
+            dirty.remove(productId);
+            sales.remove(productId);
+        });
+    }
+
+    public ProductStatsDTO getStats(Long productId) {
+        ProductSales productSales = sales.get(productId);
+        if (productSales == null) {
+            return new ProductStatsDTO(productId, 0, 0, BigDecimal.ZERO.setScale(2));
+        }
+        return new ProductStatsDTO(productId, productSales.units.sum(), productSales.orders.sum(),
+                BigDecimal.valueOf(productSales.revenueCents.sum(), 2));
+    }
+
+    @Scheduled(fixedDelayString = "${app.sales-stats.flush-interval:5s}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<ProductSalesRow> deltas = new ArrayList<>();
+        for (Long productId : dirty) {
+            // Removed before reading, so an increment racing with this flush marks the product dirty again
+            dirty.remove(productId);
+            ProductSales productSales = sales.get(productId);
+            if (productSales != null) {
+                ProductSalesRow delta = productSales.takePending(productId);
+                if (delta.unitsSold() != 0 || delta.orderCount() != 0 || delta.revenueCents() != 0) {
+                    deltas.add(delta);
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            summaryRepository.addAll(deltas);
+            log.debug("Flushed sales deltas of {} products", deltas.size());
+        } catch (RuntimeException ex) {
+            log.warn("Cannot flush sales deltas of {} products, retrying at the next flush: {}", deltas.size(), ex.getMessage());
+            deltas.forEach(delta -> {
+                ProductSales productSales = sales.get(delta.productId());
+                if (productSales != null) {
+                    productSales.addPending(delta.unitsSold(), delta.orderCount(), delta.revenueCents());
+                    dirty.add(delta.productId());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void subtractAfterCommit(List<ProductSalesRow> removed) {
+        TransactionCallbacks.afterCommit(() -> removed.forEach(row ->
+                add(row.productId(), -row.unitsSold(), -row.orderCount(), -row.revenueCents(), true)));
+    }
+
+    private void add(Long productId, long units, long orders, long revenueCents, boolean countTotals) {
+        ProductSales productSales = sales(productId);
+        if (countTotals) {
+            productSales.units.add(units);
+            productSales.orders.add(orders);
+            productSales.revenueCents.add(revenueCents);
+        }
+        productSales.addPending(units, orders, revenueCents);
+        dirty.add(productId);
+    }
+
+    private ProductSales sales(Long productId) {
+        return sales.computeIfAbsent(productId, id -> new ProductSales());
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private static final class ProductSales {
+
+        private final LongAdder units = new LongAdder();
+
+        private final LongAdder orders = new LongAdder();
+
+        private final LongAdder revenueCents = new LongAdder();
+
+        private final LongAdder pendingUnits = new LongAdder();
+
+        private final LongAdder pendingOrders = new LongAdder();
+
+        private final LongAdder pendingRevenueCents = new LongAdder();
+
+        void addTotals(ProductSalesRow row) {
+            units.add(row.unitsSold());
+            orders.add(row.orderCount());
+            revenueCents.add(row.revenueCents());
+        }
+
+        void addPending(long deltaUnits, long deltaOrders, long deltaRevenueCents) {
+            pendingUnits.add(deltaUnits);
+            pendingOrders.add(deltaOrders);
+            pendingRevenueCents.add(deltaRevenueCents);
+        }
+
+        ProductSalesRow takePending(long productId) {
+            return new ProductSalesRow(productId, pendingUnits.sumThenReset(), pendingOrders.sumThenReset(),
+                    pendingRevenueCents.sumThenReset());
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.product.service;
+
+import com.product.config.SearchProperties;
+import com.product.model.Product;
+import com.product.repository.ProductRepository;
+import com.product.search.InvertedIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keyword search over product names and descriptions, answered from an {@link InvertedIndex} built from
+ * the products table at startup and kept current by product create, update, import and delete.
+ */
+@Component
+@Slf4j
+public class ProductSearch {
+
+    private final InvertedIndex index;
+
+    private final ProductRepository productRepository;
+
+    private final SearchProperties properties;
+
+    public ProductSearch(SearchProperties properties, ProductRepository productRepository) {
+        this.properties = properties;
+        this.productRepository = productRepository;
+        this.index = new InvertedIndex(properties.getNameBoost(), properties.getMinPrefixLength(),
+                properties.getMaxPrefixExpansions());
+    }
+
+    // Loads every product in keyset pages, before the application accepts requests
+    @PostConstruct
+    void build() {
+        long started = System.nanoTime();
+        long afterId = 0;
+        List<Product> page;
+        do {
+            page = productRepository.findProductsAfter(afterId, Limit.of(properties.getBuildPageSize()));
+            index.putAll(page.stream().map(ProductSearch::toDocument).toList());
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == properties.getBuildPageSize());
+        log.info("Indexed {} products for search in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void recordSaved(Product product) {
+        InvertedIndex.Document document = toDocument(product);
+        TransactionCallbacks.afterCommit(() -> index.put(document));
+    }
+
+    public void recordImported(List<Product> products) {
+        List<InvertedIndex.Document> documents = products.stream().map(ProductSearch::toDocument).toList();
+        TransactionCallbacks.afterCommit(() -> index.putAll(documents));
+    }
+
+    public void recordDeleted(Long productId) {
+        TransactionCallbacks.afterCommit(() -> index.remove(productId));
+    }
+
+    public List<InvertedIndex.Hit> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be blank");
+        }
+        if (limit <= 0 || limit > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        return index.search(query, limit);
+    }
+
+    private static InvertedIndex.Document toDocument(Product product) {
+        return new InvertedIndex.Document(product.getId(), product.getName(), product.getDescription());
+    }
+
+}
@@ -1,15 +1,32 @@
 package com.product.service;
 
+import com.product.chaos.FaultInjector;
+import com.product.concurrent.MicroBatcher;
+import com.product.concurrent.SingleFlight;
+import com.product.config.BulkDeleteProperties;
+import com.product.config.CacheConfig;
+import com.product.deadline.Deadline;
+import com.product.dto.ProductResponseDTO;
+import com.product.dto.ProductSearchResultDTO;
+import com.product.dto.ProductStatsDTO;
+import com.product.dto.TopProductDTO;
+import com.product.exception.NotFoundException;
+import com.product.exception.VersionConflictException;
 import com.product.model.Product;
+import com.product.repository.EntityUpdateRepository;
 import com.product.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 public class ProductService {
@@ -17,55 +34,183 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
-    @Async("taskExecutor")
+    @Autowired
+    private AsyncServiceExecutor asyncServiceExecutor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private FaultInjector faultInjector;
+
+    @Autowired
+    private ProductSalesCounters productSalesCounters;
+
+    @Autowired
+    private TrendingProducts trendingProducts;
+
+    @Autowired
+    private ProductSearch productSearch;
+
+    @Autowired
+    private EntityUpdateRepository entityUpdateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BulkDeleteProperties bulkDeleteProperties;
+
+    @Autowired(required = false)
+    private MicroBatcher<Long, Product> productLookupBatcher;
+
+    private final SingleFlight<Long, Product> productLoads = new SingleFlight<>();
+
+    // Goes through the fault injector as "product.fetchDetails", then the cached and batched lookup path
     public CompletableFuture<Product> fetchProductDetailsAsync(final Long productId) {
-        return CompletableFuture.supplyAsync(() -> {
-            simulateDelay(500);
-            return productRepository.findById(productId)
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
+        return faultInjector.around("product.fetchDetails", () -> findCached(productId, () -> loadProduct(productId)));
+    }
+
+    // Loads up to limit rows with an id greater than afterId, in id order
+    public CompletableFuture<List<Product>> getAllProductsAsync(long afterId, int limit) {
+        return asyncServiceExecutor.supply("product.findPage", () -> productRepository.findProductsAfter(afterId, Limit.of(limit)));
+    }
+
+    public CompletableFuture<Product> getProductByIdAsync(String productId) {
+        Long id = Long.valueOf(productId);
+        return findCached(id, () -> loadProduct(id));
+    }
+
+    public CompletableFuture<Product> createProductAsync(Product product) {
+        return asyncServiceExecutor.supply("product.create", () -> {
+            Product savedProduct = productRepository.save(product);
+            productSearch.recordSaved(savedProduct);
+            return savedProduct;
         });
     }
 
-    private void simulateDelay(long millis) {
+    /**
+     * Overwrites the product with one {@code UPDATE}, without loading it first. When {@code updatedProduct}
+     * carries a version, the update only applies to that version and fails with a conflict otherwise.
+     */
+    public CompletableFuture<Product> updateProductAsync(String productId, Product updatedProduct) {
+        Long id = Long.valueOf(productId);
+        Long expectedVersion = updatedProduct.getVersion();
+        return asyncServiceExecutor.supply("product.update", () -> {
+            Long version = entityUpdateRepository.updateProduct(id, updatedProduct.getName(),
+                            updatedProduct.getDescription(), updatedProduct.getPrice(), expectedVersion)
+                    .orElseThrow(() -> productRepository.findById(id)
+                            .<RuntimeException>map(current -> new VersionConflictException("Product", id, expectedVersion,
+                                    current.getVersion()))
+                            .orElseGet(() -> new NotFoundException("Product with ID " + id + " not found")));
+            updatedProduct.setId(id);
+            updatedProduct.setVersion(version);
+            productCache().evict(id);
+            productSearch.recordSaved(updatedProduct);
+            return updatedProduct;
+        });
+    }
+
+    public CompletableFuture<Void> deleteProductAsync(String productId) {
+        Long id = Long.valueOf(productId);
+        return asyncServiceExecutor.run("product.delete", () -> deleteProducts(List.of(id)));
+    }
+
+    // Deletes the products with one statement, returning how many existed
+    public CompletableFuture<Integer> deleteProductsAsync(List<Long> productIds) {
+        List<Long> ids;
         try {
-            TimeUnit.MILLISECONDS.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException(e);
+            ids = bulkDeleteProperties.distinctIds(productIds);
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.failedFuture(ex);
         }
+        return asyncServiceExecutor.supply("product.deleteBatch", () -> deleteProducts(ids));
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<List<Product>> getAllProductsAsync() {
-        return CompletableFuture.supplyAsync(() -> productRepository.findProducts());
+    /**
+     * Deletes the products with a single {@code DELETE ... WHERE id IN (...)}; their order items and sales
+     * summary rows are removed by the database cascade. Sales counters and trending entries are dropped after
+     * the commit and the cached products are evicted.
+     */
+    public int deleteProducts(Collection<Long> ids) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            int count = productRepository.deleteByIds(ids);
+            ids.forEach(id -> {
+                productSalesCounters.recordProductDeleted(id);
+                trendingProducts.recordProductDeleted(id);
+                productSearch.recordDeleted(id);
+                TransactionCallbacks.afterCommit(() -> productCache().evict(id));
+            });
+            return count;
+        });
+        return deleted == null ? 0 : deleted;
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<Product> getProductByIdAsync(String productId) {
-        return CompletableFuture.supplyAsync(() -> productRepository.findById(Long.valueOf(productId))
-                .orElseThrow(() -> new RuntimeException("Product not found")));
+    // Sales totals from the in-memory counters, without querying the database
+    public ProductStatsDTO getProductStats(Long productId) {
+        return productSalesCounters.getStats(productId);
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<Product> createProductAsync(Product product) {
-        return CompletableFuture.supplyAsync(() -> productRepository.save(product));
+    // Ranked keyword search; hits are resolved through the product cache, products deleted meanwhile are dropped
+    public CompletableFuture<List<ProductSearchResultDTO>> searchProductsAsync(String query, int limit) {
+        List<CompletableFuture<ProductSearchResultDTO>> hits = productSearch.search(query, limit).stream()
+                .map(hit -> findCached(hit.id(), () -> loadProduct(hit.id()))
+                        .thenApply(product -> new ProductSearchResultDTO(new ProductResponseDTO(product.getId(),
+                                product.getName(), product.getDescription(), product.getPrice(), product.getVersion()),
+                                hit.score()))
+                        .exceptionally(ex -> null))
+                .toList();
+        return CompletableFuture.allOf(hits.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> hits.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<Product> updateProductAsync(String productId, Product updatedProduct) {
-        return CompletableFuture.supplyAsync(() -> {
-            Product existingProduct = productRepository.findById(Long.valueOf(productId))
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
-            existingProduct.setName(updatedProduct.getName());
-            existingProduct.setDescription(updatedProduct.getDescription());
-            existingProduct.setPrice(updatedProduct.getPrice());
-            return productRepository.save(existingProduct);
+    // Products with the most units ordered in the trending window, named through the cached lookup path.
+    // Products deleted in the meantime are left out.
+    public CompletableFuture<List<TopProductDTO>> getTopProductsAsync(int limit) {
+        List<CompletableFuture<TopProductDTO>> entries = trendingProducts.top(limit).stream()
+                .map(entry -> findCached(entry.key(), () -> loadProduct(entry.key()))
+                        .thenApply(product -> new TopProductDTO(product.getId(), product.getName(), entry.count()))
+                        .exceptionally(ex -> null))
+                .toList();
+        return CompletableFuture.allOf(entries.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> entries.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Returns the cached product without leaving the caller thread, or runs {@code loader} and caches
+     * its result. Concurrent misses for the same id are coalesced into one load, which runs under its own
+     * deadline; the caller's deadline only bounds the caller's copy of it.
+     * Entries are evicted on update and delete; a load racing with an update can cache the previous
+     * state, which the cache TTL bounds.
+     */
+    private CompletableFuture<Product> findCached(Long productId, Supplier<CompletableFuture<Product>> loader) {
+        Product cached = productCache().get(productId, Product.class);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Product> shared = productLoads.execute(productId, () -> loader.get().thenApply(product -> {
+            productCache().put(productId, product);
+            return product;
+        }));
+        Deadline deadline = Deadline.current();
+        return deadline != null ? deadline.bound(shared, "product.find") : shared;
+    }
+
+    // Lookups are micro-batched into one IN query when batching is enabled
+    private CompletableFuture<Product> loadProduct(Long productId) {
+        CompletableFuture<Product> product = productLookupBatcher != null
+                ? productLookupBatcher.load(productId)
+                : asyncServiceExecutor.supplyShared("product.findById", () -> productRepository.findById(productId).orElse(null));
+        return product.thenApply(found -> {
+            if (found == null) {
+                throw new NotFoundException("Product with ID " + productId + " not found");
+            }
+            return found;
         });
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<Void> deleteProductAsync(String productId) {
-        return CompletableFuture.runAsync(() -> productRepository.deleteById(Long.valueOf(productId)));
+    private Cache productCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE));
     }
 
 }
@@ -0,0 +1,42 @@
+package com.product.service;
+
+import com.product.config.TrendingProperties;
+import com.product.sketch.WindowedHeavyHitters;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Products with the most units ordered in the last {@code app.trending.window}, fed by order creation.
+ */
+@Component
+public class TrendingProducts {
+
+    private final WindowedHeavyHitters heavyHitters;
+
+    private final int capacity;
+
+    public TrendingProducts(TrendingProperties properties) {
+        this.capacity = properties.getCapacity();
+        this.heavyHitters = new WindowedHeavyHitters(properties.getCapacity(), properties.getWindow(),
+                properties.getBuckets(), properties.getDepth(), properties.getWidth(), System::currentTimeMillis);
+    }
+
+    public void recordOrder(Long productId, int quantity) {
+        if (quantity > 0) {
+            TransactionCallbacks.afterCommit(() -> heavyHitters.add(productId, quantity));
+        }
+    }
+
+    public void recordProductDeleted(Long productId) {
+        TransactionCallbacks.afterCommit(() -> heavyHitters.remove(productId));
+    }
+
+    public List<WindowedHeavyHitters.Entry> top(int limit) {
+        if (limit <= 0 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity);
+        }
+        return heavyHitters.top(limit);
+    }
+
+}
@@ -1,15 +1,29 @@
 package com.product.service;
 
+import com.product.chaos.FaultInjector;
+import com.product.concurrent.MicroBatcher;
+import com.product.concurrent.SingleFlight;
+import com.product.config.BulkDeleteProperties;
+import com.product.config.CacheConfig;
+import com.product.deadline.Deadline;
+import com.product.exception.NotFoundException;
+import com.product.exception.VersionConflictException;
 import com.product.model.User;
+import com.product.repository.EntityUpdateRepository;
 import com.product.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -18,56 +32,132 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    @Async("taskExecutor")
-    public CompletableFuture<User> fetchUserDetailsAsync(Long userId) {
-        return CompletableFuture.supplyAsync(() -> {
-            simulateDelay(600);
-            return userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-        });
-    }
+    @Autowired
+    private AsyncServiceExecutor asyncServiceExecutor;
 
-    private void simulateDelay(long millis) {
-        try {
-            TimeUnit.MILLISECONDS.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException(e);
-        }
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private FaultInjector faultInjector;
+
+    @Autowired
+    private ProductSalesCounters productSalesCounters;
+
+    @Autowired
+    private EntityUpdateRepository entityUpdateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BulkDeleteProperties bulkDeleteProperties;
+
+    @Autowired(required = false)
+    private MicroBatcher<Long, User> userLookupBatcher;
+
+    private final SingleFlight<Long, User> userLoads = new SingleFlight<>();
+
+    // Goes through the fault injector as "user.fetchDetails", then the cached and batched lookup path
+    public CompletableFuture<User> fetchUserDetailsAsync(Long userId) {
+        return faultInjector.around("user.fetchDetails", () -> findCached(userId, () -> loadUser(userId)));
     }
 
-    @Async("taskExecutor")
-    public CompletableFuture<List<User>> getAllUsersAsync() {
-        return CompletableFuture.supplyAsync(() -> userRepository.findUsers());
+    // Loads up to limit rows with an id greater than afterId, in id order
+    public CompletableFuture<List<User>> getAllUsersAsync(long afterId, int limit) {
+        return asyncServiceExecutor.supply("user.findPage", () -> userRepository.findUsersAfter(afterId, Limit.of(limit)));
     }
 
-    @Async("taskExecutor")
     public CompletableFuture<User> getUserByIdAsync(String userId) {
-        return CompletableFuture.supplyAsync(() -> userRepository.findById(Long.valueOf(userId))
-                .orElseThrow(() -> new RuntimeException("User not found")));
+        Long id = Long.valueOf(userId);
+        return findCached(id, () -> loadUser(id));
     }
 
-    @Async("taskExecutor")
     public CompletableFuture<User> createUserAsync(User user) {
-        return CompletableFuture.supplyAsync(() -> userRepository.save(user));
+        return asyncServiceExecutor.supply("user.create", () -> userRepository.save(user));
     }
 
-    @Async("taskExecutor")
+    // One UPDATE without a prior read; with a version in updatedUser, a concurrent change makes it fail with 409
     public CompletableFuture<User> updateUserAsync(String userId, User updatedUser) {
-        return CompletableFuture.supplyAsync(() -> {
-            User existingUser = userRepository.findById(Long.valueOf(userId))
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            existingUser.setName(updatedUser.getName());
-            existingUser.setEmail(updatedUser.getEmail());
-            return userRepository.save(existingUser);
+        Long id = Long.valueOf(userId);
+        Long expectedVersion = updatedUser.getVersion();
+        return asyncServiceExecutor.supply("user.update", () -> {
+            Long version = entityUpdateRepository.updateUser(id, updatedUser.getName(), updatedUser.getEmail(), expectedVersion)
+                    .orElseThrow(() -> userRepository.findById(id)
+                            .<RuntimeException>map(current -> new VersionConflictException("User", id, expectedVersion,
+                                    current.getVersion()))
+                            .orElseGet(() -> new NotFoundException("User with ID " + id + " not found")));
+            updatedUser.setId(id);
+            updatedUser.setVersion(version);
+            userCache().evict(id);
+            return updatedUser;
         });
     }
 
-    @Async("taskExecutor")
     public CompletableFuture<Void> deleteUserAsync(String userId) {
-        return CompletableFuture.runAsync(() -> {
-            userRepository.deleteById(Long.valueOf(userId));
+        Long id = Long.valueOf(userId);
+        return asyncServiceExecutor.run("user.delete", () -> deleteUsers(List.of(id)));
+    }
+
+    // Deletes the users with one statement, returning how many existed
+    public CompletableFuture<Integer> deleteUsersAsync(List<Long> userIds) {
+        List<Long> ids;
+        try {
+            ids = bulkDeleteProperties.distinctIds(userIds);
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return asyncServiceExecutor.supply("user.deleteBatch", () -> deleteUsers(ids));
+    }
+
+    /**
+     * Deletes the users with a single {@code DELETE ... WHERE id IN (...)}; their order items are removed by
+     * the database cascade instead of being loaded and deleted one by one. The sales counters are adjusted
+     * after the commit and the cached users are evicted.
+     */
+    public int deleteUsers(Collection<Long> ids) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            // The users' order items are deleted with them, take them out of the sales counters
+            productSalesCounters.recordUsersDeleted(ids);
+            ids.forEach(id -> TransactionCallbacks.afterCommit(() -> userCache().evict(id)));
+            return userRepository.deleteByIds(ids);
         });
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * Returns the cached user without leaving the caller thread, or runs {@code loader} and caches
+     * its result. Concurrent misses for the same id are coalesced into one load, which runs under its own
+     * deadline; the caller's deadline only bounds the caller's copy of it.
+     */
+    private CompletableFuture<User> findCached(Long userId, Supplier<CompletableFuture<User>> loader) {
+        User cached = userCache().get(userId, User.class);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<User> shared = userLoads.execute(userId, () -> loader.get().thenApply(user -> {
+            userCache().put(userId, user);
+            return user;
+        }));
+        Deadline deadline = Deadline.current();
+        return deadline != null ? deadline.bound(shared, "user.find") : shared;
+    }
+
+    // Lookups are micro-batched into one IN query when batching is enabled
+    private CompletableFuture<User> loadUser(Long userId) {
+        CompletableFuture<User> user = userLookupBatcher != null
+                ? userLookupBatcher.load(userId)
+                : asyncServiceExecutor.supplyShared("user.findById", () -> userRepository.findById(userId).orElse(null));
+        return user.thenApply(found -> {
+            if (found == null) {
+                throw new NotFoundException("User with ID " + userId + " not found");
+            }
+            return found;
+        });
+    }
+
+    private Cache userCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS_CACHE));
     }
 
 }
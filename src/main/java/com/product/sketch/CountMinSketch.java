@@ -0,0 +1,62 @@
+package com.product.sketch;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Count-min sketch over {@code long} keys: approximate counts in a fixed {@code depth x width} table.
+ * <p>
+ * Estimates never undercount. With total count {@code N}, an estimate exceeds the true count by more
+ * than {@code e * N / width} with probability at most {@code e^-depth}. Not thread-safe.
+ */
+public class CountMinSketch {
+
+    private final int width;
+
+    private final long[][] counts;
+
+    private final long[] seeds;
+
+    public CountMinSketch(int depth, int width, long seed) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Depth and width must be greater than 0");
+        }
+        this.width = width;
+        this.counts = new long[depth][width];
+        this.seeds = new long[depth];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = random.nextLong() | 1;
+        }
+    }
+
+    public void add(long key, long count) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i][index(key, i)] += count;
+        }
+    }
+
+    public long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < counts.length; i++) {
+            min = Math.min(min, counts[i][index(key, i)]);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (long[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    private int index(long key, int row) {
+        // Murmur3 finalizer of the key mixed with a per-row seed
+        long h = (key ^ seeds[row]) * 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) width);
+    }
+
+}
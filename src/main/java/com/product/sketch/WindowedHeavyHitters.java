@@ -0,0 +1,118 @@
+package com.product.sketch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate top-K keys by count over a sliding time window, in memory bounded by the constructor
+ * arguments only.
+ * <p>
+ * The window is split into {@code buckets} time buckets, each with its own {@link CountMinSketch}; the
+ * oldest bucket is cleared and reused when time moves past it, so counts expire one bucket at a time.
+ * The count of a key over the window is the sum of its estimates in the live buckets. At most
+ * {@code capacity} candidate keys are tracked: a key enters when its window count beats the smallest
+ * tracked count, which then leaves. Results are re-estimated against the current window when read.
+ * <p>
+ * All methods are synchronized; an update costs {@code depth * buckets} array accesses.
+ */
+public class WindowedHeavyHitters {
+
+    public record Entry(long key, long count) {
+    }
+
+    private final int capacity;
+
+    private final long bucketMillis;
+
+    private final LongSupplier clock;
+
+    private final CountMinSketch[] sketches;
+
+    private final long[] bucketEpochs;
+
+    private final Map<Long, Long> candidates = new HashMap<>();
+
+    public WindowedHeavyHitters(int capacity, Duration window, int buckets, int depth, int width, LongSupplier clock) {
+        if (capacity < 1 || buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Capacity and buckets must be greater than 0, window at least one ms per bucket");
+        }
+        this.capacity = capacity;
+        this.bucketMillis = window.toMillis() / buckets;
+        this.clock = clock;
+        this.sketches = new CountMinSketch[buckets];
+        this.bucketEpochs = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sketches[i] = new CountMinSketch(depth, width, i);
+            bucketEpochs[i] = -1;
+        }
+    }
+
+    public synchronized void add(long key, long count) {
+        long epoch = currentEpoch();
+        CountMinSketch sketch = sketches[slot(epoch)];
+        sketch.add(key, count);
+        long windowCount = windowCount(key, epoch);
+        if (candidates.containsKey(key) || candidates.size() < capacity) {
+            candidates.put(key, windowCount);
+            return;
+        }
+        Map.Entry<Long, Long> smallest = null;
+        for (Map.Entry<Long, Long> candidate : candidates.entrySet()) {
+            if (smallest == null || candidate.getValue() < smallest.getValue()) {
+                smallest = candidate;
+            }
+        }
+        if (smallest != null && windowCount > smallest.getValue()) {
+            candidates.remove(smallest.getKey());
+            candidates.put(key, windowCount);
+        }
+    }
+
+    /**
+     * Returns up to {@code n} keys with the highest counts in the current window, highest first.
+     */
+    public synchronized List<Entry> top(int n) {
+        long epoch = currentEpoch();
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        candidates.replaceAll((key, count) -> windowCount(key, epoch));
+        candidates.values().removeIf(count -> count == 0);
+        candidates.forEach((key, count) -> entries.add(new Entry(key, count)));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries.size() > n ? List.copyOf(entries.subList(0, n)) : entries;
+    }
+
+    public synchronized void remove(long key) {
+        candidates.remove(key);
+    }
+
+    // Clears buckets that fell out of the window before they are reused for the current time
+    private long currentEpoch() {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int slot = slot(epoch);
+        if (bucketEpochs[slot] != epoch) {
+            sketches[slot].clear();
+            bucketEpochs[slot] = epoch;
+        }
+        return epoch;
+    }
+
+    private long windowCount(long key, long epoch) {
+        long count = 0;
+        for (int i = 0; i < sketches.length; i++) {
+            if (bucketEpochs[i] > epoch - sketches.length) {
+                count += sketches[i].estimate(key);
+            }
+        }
+        return count;
+    }
+
+    private int slot(long epoch) {
+        return (int) (epoch % sketches.length);
+    }
+
+}
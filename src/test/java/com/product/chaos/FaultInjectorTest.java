@@ -0,0 +1,109 @@
+package com.product.chaos;
+
+import com.product.deadline.Deadline;
+import com.product.exception.InjectedFaultException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FaultInjectorTest {
+
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setThreadNamePrefix("fault-injection-");
+        taskScheduler.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void delayedCallRunsOnTheSchedulerWithTheCallersDeadline() throws Exception {
+        FaultInjector faultInjector = new FaultInjector(properties(rule(Duration.ofMillis(50), 0.0)), taskScheduler);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        CompletableFuture<String> result;
+        Deadline previous = Deadline.attach(deadline);
+        try {
+            result = faultInjector.around("user.fetchDetails", () -> {
+                assertSame(deadline, Deadline.current());
+                return CompletableFuture.completedFuture(Thread.currentThread().getName());
+            });
+        } finally {
+            Deadline.restore(previous);
+        }
+
+        assertTrue(result.get(5, TimeUnit.SECONDS).startsWith("fault-injection-"));
+    }
+
+    @Test
+    void delayedCallDoesNotLeaveTheDeadlineOnTheSchedulerThread() throws Exception {
+        FaultInjector faultInjector = new FaultInjector(properties(rule(Duration.ofMillis(10), 0.0)), taskScheduler);
+        Deadline previous = Deadline.attach(Deadline.after(Duration.ofSeconds(5)));
+        try {
+            faultInjector.around("user.fetchDetails", () -> CompletableFuture.completedFuture("first"))
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            Deadline.restore(previous);
+        }
+
+        // Scheduled without a deadline, on the same single scheduler thread
+        CompletableFuture<Deadline> seen = faultInjector.around("user.fetchDetails",
+                () -> CompletableFuture.completedFuture(Deadline.current()));
+
+        assertNull(seen.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void injectedErrorFailsTheCallAfterTheDelay() {
+        FaultInjector faultInjector = new FaultInjector(properties(rule(Duration.ofMillis(10), 1.0)), taskScheduler);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> faultInjector.around("user.fetchDetails",
+                () -> CompletableFuture.completedFuture("unreached")).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(InjectedFaultException.class, ex.getCause());
+    }
+
+    @Test
+    void disabledInjectionCallsThrough() throws Exception {
+        FaultInjectionProperties properties = properties(rule(Duration.ofSeconds(10), 1.0));
+        properties.setEnabled(false);
+        FaultInjector faultInjector = new FaultInjector(properties, taskScheduler);
+
+        assertEquals("value", faultInjector.around("user.fetchDetails",
+                () -> CompletableFuture.completedFuture("value")).get(1, TimeUnit.SECONDS));
+    }
+
+    private static FaultInjectionProperties properties(FaultInjectionProperties.Rule rule) {
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.setEnabled(true);
+        properties.getOperations().put("user.fetchDetails", rule);
+        return properties;
+    }
+
+    private static FaultInjectionProperties.Rule rule(Duration delay, double errorRate) {
+        FaultInjectionProperties.Rule rule = new FaultInjectionProperties.Rule();
+        rule.setDelay(delay);
+        rule.setErrorRate(errorRate);
+        return rule;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.product.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip times are passed to {@link AdaptiveConcurrencyLimiter#release(long)} directly, so the limit
+ * follows a fixed sequence of samples.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 1.5, 100, 0.2);
+    }
+
+    // Fills every slot, checks that one more call is refused, then completes all calls with the same latency
+    private static void saturatedRound(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int slots = limiter.getLimit();
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        for (int i = 0; i < slots; i++) {
+            limiter.release(rttNanos);
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysLowAndStopsAtTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        int previous = limiter.getLimit();
+        for (int round = 0; round < 5; round++) {
+            saturatedRound(limiter, FAST);
+            assertTrue(limiter.getLimit() > previous, "limit should grow, was " + previous);
+            previous = limiter.getLimit();
+        }
+        for (int round = 0; round < 20; round++) {
+            saturatedRound(limiter, FAST);
+            assertTrue(limiter.getLimit() <= 100);
+        }
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAboveTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 1, 100);
+        saturatedRound(limiter, FAST);
+        int beforeSpike = limiter.getLimit();
+
+        saturatedRound(limiter, SLOW);
+
+        assertTrue(limiter.getLimit() < beforeSpike / 2,
+                "limit should shrink from " + beforeSpike + ", is " + limiter.getLimit());
+    }
+
+    @Test
+    void limitNeverShrinksBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 30, 100);
+        saturatedRound(limiter, FAST);
+
+        saturatedRound(limiter, SLOW);
+        assertTrue(limiter.getLimit() >= 30 && limiter.getLimit() < 50,
+                "limit should shrink towards the minimum, is " + limiter.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.releaseDropped();
+        }
+        assertEquals(30, limiter.getLimit());
+    }
+
+    @Test
+    void droppedCallsBackTheLimitOffByTenPercent() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 1, 100);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.releaseDropped();
+        assertEquals(45, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.releaseDropped();
+        assertEquals(40, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void latencyFarBelowTheLimitLeavesItUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 1, 100);
+
+        // One call at a time says nothing about whether 50 concurrent calls are too many
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(i % 2 == 0 ? FAST : SLOW);
+        }
+
+        assertEquals(50, limiter.getLimit());
+    }
+
+    @Test
+    void callsOverTheLimitAreRefusedUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void limitsOutOfOrderAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(5, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> limiter(50, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0, 10));
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.product.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicroBatcherTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+
+    // Stands in for the IN query: every key but the missing ones maps to "value-<key>"
+    private CompletableFuture<Map<Long, String>> load(Set<Long> keys, Set<Long> missing) {
+        batches.add(keys);
+        Map<Long, String> values = new HashMap<>();
+        for (Long key : keys) {
+            if (!missing.contains(key)) {
+                values.put(key, "value-" + key);
+            }
+        }
+        return CompletableFuture.completedFuture(values);
+    }
+
+    @Test
+    void keysWithinTheWindowAreLoadedWithOneCall() throws Exception {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", Duration.ofMillis(50), 100,
+                keys -> load(keys, Set.of()))) {
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+            CompletableFuture<String> third = batcher.load(3L);
+
+            assertEquals("value-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value-2", second.get(5, TimeUnit.SECONDS));
+            assertEquals("value-3", third.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(Set.of(1L, 2L, 3L)), batches);
+        }
+    }
+
+    @Test
+    void fullBatchIsLoadedWithoutWaitingForTheWindow() throws Exception {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 3,
+                keys -> load(keys, Set.of()))) {
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+            assertFalse(first.isDone());
+            assertTrue(batches.isEmpty());
+
+            CompletableFuture<String> third = batcher.load(3L);
+
+            // Completed by the calling thread, long before the window would have elapsed
+            assertTrue(first.isDone() && second.isDone() && third.isDone());
+            assertEquals("value-2", second.get());
+            assertEquals(List.of(Set.of(1L, 2L, 3L)), batches);
+
+            // The next key starts a new batch
+            CompletableFuture<String> fourth = batcher.load(4L);
+            assertFalse(fourth.isDone());
+        }
+    }
+
+    @Test
+    void duplicateKeysShareOneEntryButEveryCallerGetsItsOwnFuture() throws Exception {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 2,
+                keys -> load(keys, Set.of()))) {
+            CompletableFuture<String> first = batcher.load(7L);
+            CompletableFuture<String> second = batcher.load(7L);
+            // A caller giving up on its future does not affect the other caller of the same key
+            first.cancel(false);
+            CompletableFuture<String> other = batcher.load(8L);
+
+            assertEquals("value-7", second.get());
+            assertEquals("value-8", other.get());
+            assertTrue(first.isCancelled());
+            assertEquals(List.of(Set.of(7L, 8L)), batches);
+        }
+    }
+
+    @Test
+    void missingKeysCompleteWithNull() throws Exception {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 2,
+                keys -> load(keys, Set.of(2L)))) {
+            CompletableFuture<String> found = batcher.load(1L);
+            CompletableFuture<String> missing = batcher.load(2L);
+
+            assertEquals("value-1", found.get());
+            assertNull(missing.get());
+        }
+    }
+
+    @Test
+    void failedBatchQueryFailsEveryCaller() {
+        IllegalStateException failure = new IllegalStateException("query failed");
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 3,
+                keys -> CompletableFuture.failedFuture(failure))) {
+            List<CompletableFuture<String>> futures = List.of(batcher.load(1L), batcher.load(2L), batcher.load(3L));
+
+            for (CompletableFuture<String> future : futures) {
+                ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+                assertSame(failure, ex.getCause());
+            }
+        }
+    }
+
+    @Test
+    void loaderThrowingFailsEveryCaller() {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 2, keys -> {
+            throw new IllegalStateException("no connection");
+        })) {
+            CompletableFuture<String> first = batcher.load(1L);
+            CompletableFuture<String> second = batcher.load(2L);
+
+            assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, first::get).getCause());
+            assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, second::get).getCause());
+        }
+    }
+
+    @Test
+    void closeFlushesPendingKeys() throws Exception {
+        CompletableFuture<String> pending;
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>("test-batcher", LONG_WINDOW, 100,
+                keys -> load(keys, Set.of()))) {
+            pending = batcher.load(5L);
+            assertFalse(pending.isDone());
+        }
+
+        assertEquals("value-5", pending.get(5, TimeUnit.SECONDS));
+    }
+
+}
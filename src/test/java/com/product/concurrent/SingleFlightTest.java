@@ -0,0 +1,102 @@
+package com.product.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 64;
+
+    @Test
+    void concurrentCallsForTheSameKeyRunTheLoaderOnce() throws Exception {
+        SingleFlight<Long, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object product = new Object();
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            // Stands in for the database query: it stays in flight until the latch is released
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompletableFuture<Object>>> submitted = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                submitted.add(callers.submit(() -> {
+                    start.await();
+                    return singleFlight.execute(10001L, () -> {
+                        loads.incrementAndGet();
+                        return CompletableFuture.supplyAsync(() -> {
+                            awaitUninterruptibly(release);
+                            return product;
+                        }, loader);
+                    });
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (Future<CompletableFuture<Object>> future : submitted) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, singleFlight.inFlightCount());
+
+            release.countDown();
+            for (CompletableFuture<Object> result : results) {
+                assertSame(product, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            loader.shutdownNow();
+        }
+    }
+
+    @Test
+    void callAfterCompletionStartsANewFlight() {
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+        int second = singleFlight.execute(1L, () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+
+        assertEquals(2, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void cancellingOneCopyLeavesTheOthersRunning() {
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> query = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = singleFlight.execute(1L, () -> query);
+        CompletableFuture<Integer> second = singleFlight.execute(1L, () -> query);
+        first.cancel(true);
+        query.complete(42);
+
+        assertTrue(first.isCancelled());
+        assertEquals(42, second.join());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.product.controller;
+
+import com.product.exception.ServiceUnavailableException;
+import com.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Failures of the product lookup must reach the exception handler instead of being answered with made-up data.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private ProductController productController;
+
+    @Test
+    void saturatedExecutorIsNotAnsweredWithAFallbackProduct() {
+        when(productService.fetchProductDetailsAsync(20001L))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("Executor saturated")));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> productController.getProduct(20001L).get());
+
+        assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+    }
+
+}
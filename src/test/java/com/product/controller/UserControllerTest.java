@@ -0,0 +1,61 @@
+package com.product.controller;
+
+import com.product.exception.DeadlineExceededException;
+import com.product.exception.ServiceUnavailableException;
+import com.product.model.User;
+import com.product.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Failures of the user lookup must reach the exception handler instead of being answered with made-up data.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private UserController userController;
+
+    @Test
+    void returnsTheUser() throws Exception {
+        User user = new User(10001L, "Alice", "alice@example.com");
+        when(userService.fetchUserDetailsAsync(10001L)).thenReturn(CompletableFuture.completedFuture(user));
+
+        assertEquals("Alice", userController.getUser(10001L).get().getName());
+    }
+
+    @Test
+    void saturatedExecutorIsNotAnsweredWithAFallbackUser() {
+        when(userService.fetchUserDetailsAsync(10001L))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("Executor saturated")));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> userController.getUser(10001L).get());
+
+        assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+    }
+
+    @Test
+    void expiredDeadlineIsNotAnsweredWithAFallbackUser() {
+        when(userService.fetchUserDetailsAsync(10001L))
+                .thenReturn(CompletableFuture.failedFuture(new DeadlineExceededException("user.find exceeded the deadline")));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> userController.getUser(10001L).get());
+
+        assertInstanceOf(DeadlineExceededException.class, ex.getCause());
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.product.exception.advice;
+
+import com.product.exception.DeadlineExceededException;
+import com.product.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebMvcExceptionHandlerTest {
+
+    private final WebMvcExceptionHandler handler = new WebMvcExceptionHandler();
+
+    private final ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/users/10001"));
+
+    @Test
+    void expiredDeadlineIsGatewayTimeout() {
+        ResponseEntity<CustomErrorResponse> response = handler.handleDeadlineExceededException(
+                new DeadlineExceededException("user.find exceeded the deadline"), request);
+
+        assertEquals(504, response.getStatusCode().value());
+        assertEquals(504, response.getBody().getStatus());
+        assertEquals("/users/10001", response.getBody().getPath());
+    }
+
+    @Test
+    void saturatedExecutorIsServiceUnavailableWithRetryAfter() {
+        ResponseEntity<CustomErrorResponse> response = handler.handleServiceUnavailableException(
+                new ServiceUnavailableException("Executor saturated"), request);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+}
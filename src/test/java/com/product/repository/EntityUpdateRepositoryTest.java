@@ -0,0 +1,164 @@
+package com.product.repository;
+
+import com.product.dto.OrderItemResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The single-statement updates on H2 ({@code FINAL TABLE} / {@code OLD TABLE}). Every statement commits on its
+ * own, like in the application, so the rows are created and removed by the test itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EntityUpdateRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityUpdateRepositoryTest {
+
+    private static final long USER_ID = 900_001L;
+
+    private static final long PRODUCT_ID = 900_002L;
+
+    private static final long ORDER_ITEM_ID = 900_003L;
+
+    private static final long MISSING_ID = 900_099L;
+
+    @Autowired
+    private EntityUpdateRepository entityUpdateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'Alice', 'alice@example.com')", USER_ID);
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price) VALUES (?, 'Lamp', 'Desk lamp', 30.00)",
+                PRODUCT_ID);
+        // Ordered at 25.00, before a price change
+        jdbcTemplate.update("INSERT INTO order_items (id, quantity, unit_price, user_id, product_id) VALUES (?, 5, 25.00, ?, ?)",
+                ORDER_ITEM_ID, USER_ID, PRODUCT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Cascades to the order item
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", PRODUCT_ID);
+    }
+
+    @Test
+    void addQuantityReturnsTheWrittenOrderItem() {
+        EntityUpdateRepository.OrderItemQuantityUpdate update =
+                entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, 3, 0L).orElseThrow();
+
+        OrderItemResponseDTO orderItem = update.orderItem();
+        assertEquals(8, orderItem.getQuantity());
+        assertEquals(1L, orderItem.getVersion());
+        assertEquals(5, update.previousQuantity());
+        assertEquals(25.00, update.unitPrice());
+        assertEquals("Alice", orderItem.getUser().getName());
+        assertEquals("Lamp", orderItem.getProduct().getName());
+        assertEquals(30.00, orderItem.getProduct().getPrice());
+        assertEquals(8, quantity());
+    }
+
+    @Test
+    void setQuantityReturnsTheQuantityItReplaced() {
+        EntityUpdateRepository.OrderItemQuantityUpdate update =
+                entityUpdateRepository.setOrderItemQuantity(ORDER_ITEM_ID, 2, null).orElseThrow();
+
+        assertEquals(2, update.orderItem().getQuantity());
+        assertEquals(1L, update.orderItem().getVersion());
+        assertEquals(5, update.previousQuantity());
+        assertEquals(2, quantity());
+    }
+
+    @Test
+    void staleVersionMatchesNoRow() {
+        entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, 1, 0L).orElseThrow();
+
+        assertTrue(entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, 1, 0L).isEmpty());
+        assertTrue(entityUpdateRepository.setOrderItemQuantity(ORDER_ITEM_ID, 9, 0L).isEmpty());
+        assertTrue(entityUpdateRepository.updateProduct(PRODUCT_ID, "Lamp", "Desk lamp", 35.0, 7L).isEmpty());
+        assertTrue(entityUpdateRepository.updateUser(USER_ID, "Alice", "alice@example.org", 7L).isEmpty());
+        assertEquals(6, quantity());
+    }
+
+    @Test
+    void missingRowMatchesNoRow() {
+        assertTrue(entityUpdateRepository.addOrderItemQuantity(MISSING_ID, 1, null).isEmpty());
+        assertTrue(entityUpdateRepository.setOrderItemQuantity(MISSING_ID, 1, null).isEmpty());
+        assertTrue(entityUpdateRepository.updateProduct(MISSING_ID, "Lamp", "Desk lamp", 35.0, null).isEmpty());
+        assertTrue(entityUpdateRepository.updateUser(MISSING_ID, "Alice", "alice@example.org", null).isEmpty());
+    }
+
+    @Test
+    void deltaThatWouldLeaveNoPositiveQuantityMatchesNoRow() {
+        assertTrue(entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, -5, null).isEmpty());
+        assertEquals(5, quantity());
+    }
+
+    @Test
+    void deltaThatWouldOverflowTheColumnMatchesNoRow() {
+        assertTrue(entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, Integer.MAX_VALUE, null).isEmpty());
+        assertTrue(entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, Integer.MIN_VALUE, null).isEmpty());
+        assertEquals(5, quantity());
+    }
+
+    @Test
+    void entityUpdatesReturnTheNewVersion() {
+        assertEquals(1L, entityUpdateRepository.updateProduct(PRODUCT_ID, "Lamp", "Desk lamp", 35.0, 0L).orElseThrow());
+        assertEquals(2L, entityUpdateRepository.updateProduct(PRODUCT_ID, "Lamp", "LED desk lamp", 35.0, null).orElseThrow());
+        assertEquals(1L, entityUpdateRepository.updateUser(USER_ID, "Alice", "alice@example.org", 0L).orElseThrow());
+    }
+
+    @Test
+    void concurrentDeltasAddUp() throws Exception {
+        int threads = 8;
+        int deltasPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < deltasPerThread; j++) {
+                        entityUpdateRepository.addOrderItemQuantity(ORDER_ITEM_ID, 2, null).orElseThrow();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5 + threads * deltasPerThread * 2, quantity());
+        assertEquals((long) threads * deltasPerThread,
+                jdbcTemplate.queryForObject("SELECT version FROM order_items WHERE id = ?", Long.class, ORDER_ITEM_ID));
+    }
+
+    private int quantity() {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM order_items WHERE id = ?", Integer.class, ORDER_ITEM_ID);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.product.repository;
+
+import com.product.dto.OrderItemResponseDTO;
+import com.product.model.OrderItem;
+import com.product.model.Product;
+import com.product.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The order item reads must build the whole response, user and product included, with one SQL statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OrderItemRepositoryTest {
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long firstOrderItemId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            User user = entityManager.persist(new User("User " + i, "user" + i + "@example.com"));
+            Product product = entityManager.persist(new Product("Product " + i, "Description " + i, 10.0 + i));
+            OrderItem orderItem = new OrderItem(i + 1);
+            orderItem.setUser(user);
+            orderItem.setProduct(product);
+            entityManager.persist(orderItem);
+            if (firstOrderItemId == null) {
+                firstOrderItemId = orderItem.getId();
+            }
+        }
+        // Nothing may be answered from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageOfOrderItemsIsOneStatement() {
+        List<OrderItemResponseDTO> page = orderItemRepository.findOrderItemResponsesAfter(0L, Limit.of(50));
+
+        assertEquals(5, page.size());
+        page.forEach(orderItem -> {
+            assertTrue(orderItem.getUser().getName().startsWith("User "));
+            assertTrue(orderItem.getProduct().getDescription().startsWith("Description "));
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void orderItemByIdIsOneStatement() {
+        OrderItemResponseDTO orderItem = orderItemRepository.findOrderItemResponseById(firstOrderItemId).orElseThrow();
+
+        assertEquals("User 0", orderItem.getUser().getName());
+        assertEquals("Description 0", orderItem.getProduct().getDescription());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.product.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static InvertedIndex index(InvertedIndex.Document... documents) {
+        InvertedIndex index = new InvertedIndex(3.0, 3, 10);
+        index.putAll(List.of(documents));
+        return index;
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    @Test
+    void tokenizerLowercasesAndSplitsOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("usb", "c", "cable", "2m", "ünïcode"), InvertedIndex.tokenize("USB-C cable, 2m (Ünïcode)!"));
+        assertTrue(InvertedIndex.tokenize("  --  ").isEmpty());
+        assertTrue(InvertedIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(1, "Floor light", "Tall lamp for the corner"),
+                new InvertedIndex.Document(2, "Desk lamp", "Bright light"),
+                new InvertedIndex.Document(3, "Chair", "Office chair"));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("lamp", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("light", 10)));
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(1, "Red mug", ""),
+                new InvertedIndex.Document(2, "Red chair", ""),
+                new InvertedIndex.Document(3, "Red table", ""),
+                new InvertedIndex.Document(4, "Blue mug", ""));
+
+        List<InvertedIndex.Hit> hits = index.search("mug", 10);
+        List<InvertedIndex.Hit> redHits = index.search("red", 10);
+
+        assertTrue(hits.get(0).score() > redHits.get(0).score());
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(1, "Red mug", "Ceramic"),
+                new InvertedIndex.Document(2, "Blue mug", "Ceramic"),
+                new InvertedIndex.Document(3, "Red chair", "Wooden"));
+
+        assertEquals(List.of(1L), ids(index.search("red mug", 10)));
+        assertEquals(List.of(1L), ids(index.search("MUG, red!", 10)));
+        assertTrue(index.search("red sofa", 10).isEmpty());
+    }
+
+    @Test
+    void queryTermsMatchTheTermsTheyArePrefixesOf() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(1, "Keyboard", ""),
+                new InvertedIndex.Document(2, "Key", ""),
+                new InvertedIndex.Document(3, "Monkey", ""));
+
+        // The exact match outranks the prefix match; "monkey" only contains "key"
+        assertEquals(List.of(2L, 1L), ids(index.search("key", 10)));
+        assertEquals(List.of(1L), ids(index.search("keyb", 10)));
+        // Shorter than minPrefixLength: exact matches only
+        assertTrue(index.search("ke", 10).isEmpty());
+    }
+
+    @Test
+    void prefixExpansionsAreLimited() {
+        InvertedIndex index = new InvertedIndex(3.0, 3, 1);
+        index.putAll(List.of(
+                new InvertedIndex.Document(1, "Cabbage", ""),
+                new InvertedIndex.Document(2, "Cable", "")));
+
+        // Only the first expansion in lexicographic order, "cabbage"
+        assertEquals(List.of(1L), ids(index.search("cab", 10)));
+    }
+
+    @Test
+    void limitKeepsTheBestHitsAndTiesAreOrderedById() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(3, "Lamp", ""),
+                new InvertedIndex.Document(1, "Lamp", ""),
+                new InvertedIndex.Document(2, "Lamp", ""),
+                new InvertedIndex.Document(4, "Lamp shade", "Linen"));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.search("lamp", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("lamp", 2)));
+        assertTrue(index.search("lamp", 0).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void removedDocumentsAreNoLongerFound() {
+        InvertedIndex index = index(
+                new InvertedIndex.Document(1, "Desk lamp", ""),
+                new InvertedIndex.Document(2, "Floor lamp", ""));
+
+        index.remove(1);
+
+        assertEquals(List.of(2L), ids(index.search("lamp", 10)));
+        assertTrue(index.search("desk", 10).isEmpty());
+        assertEquals(1, index.size());
+        // Removing an unknown id is a no-op
+        index.remove(99);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void replacedDocumentIsFoundByItsNewTermsOnly() {
+        InvertedIndex index = index(new InvertedIndex.Document(1, "Desk lamp", ""));
+
+        index.put(new InvertedIndex.Document(1, "Floor lamp", ""));
+
+        assertTrue(index.search("desk", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("floor lamp", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void postingsSpanningManyBlocksKeepEveryDocument() {
+        InvertedIndex index = new InvertedIndex(3.0, 3, 10);
+        List<InvertedIndex.Document> documents = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            documents.add(new InvertedIndex.Document(id, id % 2 == 0 ? "Even widget" : "Odd widget", ""));
+        }
+        index.putAll(documents);
+        for (long id = 1; id <= 5_000; id += 10) {
+            index.remove(id);
+        }
+
+        assertEquals(4_500, index.search("widget", 10_000).size());
+        List<InvertedIndex.Hit> odd = index.search("odd widget", 10_000);
+        assertEquals(2_000, odd.size());
+        assertTrue(odd.stream().allMatch(hit -> hit.id() % 2 == 1 && hit.id() % 10 != 1));
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new InvertedIndex(0, 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> new InvertedIndex(3.0, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new InvertedIndex(3.0, 3, -1));
+    }
+
+}
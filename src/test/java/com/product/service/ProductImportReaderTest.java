@@ -0,0 +1,166 @@
+package com.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductImportReaderTest {
+
+    private static final int MAX_ROW_LENGTH = 100;
+
+    private static List<ProductImportReader.Row> read(String upload, ProductImportService.Format format) throws IOException {
+        ProductImportReader reader = new ProductImportReader(new StringReader(upload), format, new ObjectMapper(),
+                MAX_ROW_LENGTH);
+        List<ProductImportReader.Row> rows = new ArrayList<>();
+        ProductImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<ProductImportReader.Row> csv(String upload) throws IOException {
+        return read(upload, ProductImportService.Format.CSV);
+    }
+
+    private static List<ProductImportReader.Row> ndjson(String upload) throws IOException {
+        return read(upload, ProductImportService.Format.NDJSON);
+    }
+
+    private static void assertProduct(ProductImportReader.Row row, long line, String name, String description, double price) {
+        assertNull(row.error(), row.error());
+        assertEquals(line, row.line());
+        assertEquals(name, row.product().getName());
+        assertEquals(description, row.product().getDescription());
+        assertEquals(price, row.product().getPrice());
+    }
+
+    private static void assertError(ProductImportReader.Row row, long line, String error) {
+        assertNull(row.product());
+        assertEquals(line, row.line());
+        assertEquals(error, row.error());
+    }
+
+    @Test
+    void csvColumnsMayComeInAnyOrderAndDescriptionIsOptional() throws IOException {
+        List<ProductImportReader.Row> rows = csv("price,name\n10.50,Lamp\n3,Mug\n");
+
+        assertEquals(2, rows.size());
+        assertProduct(rows.get(0), 2, "Lamp", "", 10.5);
+        assertProduct(rows.get(1), 3, "Mug", "", 3.0);
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasAndEscapedQuotes() throws IOException {
+        List<ProductImportReader.Row> rows = csv("""
+                name,description,price
+                "Lamp, desk","He said ""bright"", twice",12
+                """);
+
+        assertProduct(rows.get(0), 2, "Lamp, desk", "He said \"bright\", twice", 12.0);
+    }
+
+    @Test
+    void crlfLineEndsAndByteOrderMarkAreAccepted() throws IOException {
+        List<ProductImportReader.Row> rows = csv("\uFEFFname,price\r\nLamp,1\r\n\r\nMug,2\r\n");
+
+        assertEquals(2, rows.size());
+        assertProduct(rows.get(0), 2, "Lamp", "", 1.0);
+        // The blank line is skipped but still counted
+        assertProduct(rows.get(1), 4, "Mug", "", 2.0);
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        List<ProductImportReader.Row> rows = csv("name,description,price\nLamp,\"First line\nSecond line\",5\nMug,Blue,2\n");
+
+        assertProduct(rows.get(0), 2, "Lamp", "First line\nSecond line", 5.0);
+        assertProduct(rows.get(1), 4, "Mug", "Blue", 2.0);
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedOnTheLineItStarts() throws IOException {
+        List<ProductImportReader.Row> rows = csv("name,price\nLamp,1\n\"Mug,2\nChair,3\n");
+
+        assertEquals(2, rows.size());
+        assertProduct(rows.get(0), 2, "Lamp", "", 1.0);
+        assertError(rows.get(1), 3, "Unterminated quoted field");
+    }
+
+    @Test
+    void oversizedRowIsRejectedAndReadingGoesOn() throws IOException {
+        String longName = "x".repeat(MAX_ROW_LENGTH + 10);
+        List<ProductImportReader.Row> rows = csv("name,price\n" + longName + ",1\nMug,2\n");
+
+        assertError(rows.get(0), 2, "Row is longer than " + MAX_ROW_LENGTH + " characters");
+        assertProduct(rows.get(1), 3, "Mug", "", 2.0);
+    }
+
+    @Test
+    void invalidCsvRowsAreReportedWithTheirLine() throws IOException {
+        List<ProductImportReader.Row> rows = csv("name,price\nLamp\nMug,cheap\n,3\nChair,-1\nSofa,100000000\n");
+
+        assertError(rows.get(0), 2, "Expected 2 fields, found 1");
+        assertError(rows.get(1), 3, "Price is not a number: cheap");
+        assertError(rows.get(2), 4, "Name is required");
+        assertError(rows.get(3), 5, "Price must be between 0 and 99999999.99");
+        assertError(rows.get(4), 6, "Price must be between 0 and 99999999.99");
+    }
+
+    @Test
+    void csvHeaderMustNameTheRequiredColumnsOnly() {
+        assertThrows(IllegalArgumentException.class, () -> csv("name,description\nLamp,Desk\n"));
+        assertThrows(IllegalArgumentException.class, () -> csv("name,price,colour\nLamp,1,red\n"));
+        assertThrows(IllegalArgumentException.class, () -> csv("\"name,price\nLamp,1\n"));
+    }
+
+    @Test
+    void emptyUploadHasNoRows() throws IOException {
+        assertTrue(csv("").isEmpty());
+        assertTrue(csv("name,price\n").isEmpty());
+        assertTrue(ndjson("").isEmpty());
+    }
+
+    @Test
+    void ndjsonRowsAreObjectsWithTheSameProperties() throws IOException {
+        List<ProductImportReader.Row> rows = ndjson("""
+                {"name": "Lamp", "description": "Desk, \\"LED\\"", "price": 12.5}
+
+                {"name": "Mug", "price": 3}
+                """);
+
+        assertEquals(2, rows.size());
+        assertProduct(rows.get(0), 1, "Lamp", "Desk, \"LED\"", 12.5);
+        assertProduct(rows.get(1), 3, "Mug", "", 3.0);
+    }
+
+    @Test
+    void invalidNdjsonRowsAreReportedWithTheirLine() throws IOException {
+        List<ProductImportReader.Row> rows = ndjson(String.join("\n",
+                "{\"name\": \"Lamp\"",
+                "[1, 2]",
+                "{\"name\": 7, \"price\": 1}",
+                "{\"name\": \"Mug\", \"description\": 5, \"price\": 1}",
+                "{\"name\": \"Mug\"}",
+                "{\"name\": \"Mug\", \"price\": \"cheap\"}",
+                "{\"name\": \"" + "x".repeat(MAX_ROW_LENGTH) + "\", \"price\": 1}"));
+
+        assertTrue(rows.get(0).error().startsWith("Invalid JSON: "));
+        assertError(rows.get(1), 2, "Row must be a JSON object");
+        assertError(rows.get(2), 3, "Name must be a string");
+        assertError(rows.get(3), 4, "Description must be a string");
+        assertError(rows.get(4), 5, "Price is required");
+        assertError(rows.get(5), 6, "Price must be a number");
+        assertError(rows.get(6), 7, "Row is longer than " + MAX_ROW_LENGTH + " characters");
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.product.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimatesNeverUndercountEvenWhenKeysCollide() {
+        // Far more keys than columns, so every row has collisions
+        CountMinSketch sketch = new CountMinSketch(4, 64, 42);
+        Map<Long, Long> exact = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        long total = 0;
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextLong(2_000);
+            long count = 1 + random.nextLong(5);
+            sketch.add(key, count);
+            exact.merge(key, count, Long::sum);
+            total += count;
+        }
+
+        long overcounted = 0;
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "key " + entry.getKey() + " undercounted");
+            if (estimate - entry.getValue() > Math.E * total / 64) {
+                overcounted++;
+            }
+        }
+        // The error bound e * N / width holds except with probability e^-depth (under 2%)
+        assertTrue(overcounted <= exact.size() * 0.05, overcounted + " keys over the error bound");
+    }
+
+    @Test
+    void distinctKeysAreExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1 << 16, 1);
+        sketch.add(10001L, 3);
+        sketch.add(10002L, 5);
+        sketch.add(10001L, 2);
+
+        assertEquals(5, sketch.estimate(10001L));
+        assertEquals(5, sketch.estimate(10002L));
+        assertEquals(0, sketch.estimate(10003L));
+    }
+
+    @Test
+    void clearResetsEveryCount() {
+        CountMinSketch sketch = new CountMinSketch(3, 128, 1);
+        sketch.add(10001L, 8);
+
+        sketch.clear();
+
+        assertEquals(0, sketch.estimate(10001L));
+    }
+
+    @Test
+    void emptyTableIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 16, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 0, 1));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.product.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A one minute window of six 10 s buckets, driven by a manual clock.
+ */
+class WindowedHeavyHittersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private WindowedHeavyHitters heavyHitters(int capacity) {
+        return new WindowedHeavyHitters(capacity, Duration.ofMinutes(1), 6, 4, 4096, clock::get);
+    }
+
+    private void at(Duration time) {
+        clock.set(time.toMillis());
+    }
+
+    @Test
+    void topReturnsTheHighestCountsFirst() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(10);
+        heavyHitters.add(1L, 3);
+        heavyHitters.add(2L, 7);
+        heavyHitters.add(3L, 5);
+        heavyHitters.add(1L, 1);
+
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(2L, 7), new WindowedHeavyHitters.Entry(3L, 5)),
+                heavyHitters.top(2));
+        assertEquals(3, heavyHitters.top(10).size());
+    }
+
+    @Test
+    void countsSumOverTheLiveBuckets() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(10);
+        heavyHitters.add(1L, 2);
+        at(Duration.ofSeconds(15));
+        heavyHitters.add(1L, 3);
+        at(Duration.ofSeconds(55));
+        heavyHitters.add(1L, 4);
+
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(1L, 9)), heavyHitters.top(1));
+    }
+
+    @Test
+    void countsExpireOneBucketAtATime() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(10);
+        heavyHitters.add(1L, 5);
+        at(Duration.ofSeconds(30));
+        heavyHitters.add(1L, 3);
+        heavyHitters.add(2L, 4);
+
+        // The bucket of t = 0 is reused for t = 60 s and its counts are gone
+        at(Duration.ofSeconds(60));
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(2L, 4), new WindowedHeavyHitters.Entry(1L, 3)),
+                heavyHitters.top(10));
+
+        // Past the bucket of t = 30 s nothing is left, and expired keys are no longer reported
+        at(Duration.ofSeconds(90));
+        assertTrue(heavyHitters.top(10).isEmpty());
+    }
+
+    @Test
+    void longIdleGapExpiresEveryBucket() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(10);
+        heavyHitters.add(1L, 5);
+
+        // Same slot as t = 0 several windows later
+        at(Duration.ofMinutes(5));
+        heavyHitters.add(2L, 1);
+
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(2L, 1)), heavyHitters.top(10));
+    }
+
+    @Test
+    void keyReplacesTheSmallestCandidateOnlyOnceItsCountIsHigher() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(2);
+        heavyHitters.add(1L, 6);
+        heavyHitters.add(2L, 3);
+
+        heavyHitters.add(3L, 2);
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(1L, 6), new WindowedHeavyHitters.Entry(2L, 3)),
+                heavyHitters.top(10));
+
+        // Its window count is now 5, above the 3 of key 2
+        heavyHitters.add(3L, 3);
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(1L, 6), new WindowedHeavyHitters.Entry(3L, 5)),
+                heavyHitters.top(10));
+    }
+
+    @Test
+    void removedKeyIsNotReported() {
+        WindowedHeavyHitters heavyHitters = heavyHitters(10);
+        heavyHitters.add(1L, 5);
+        heavyHitters.add(2L, 3);
+
+        heavyHitters.remove(1L);
+
+        assertEquals(List.of(new WindowedHeavyHitters.Entry(2L, 3)), heavyHitters.top(10));
+    }
+
+}